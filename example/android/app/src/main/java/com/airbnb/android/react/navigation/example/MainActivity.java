@@ -25,6 +25,12 @@ public class MainActivity extends ReactAwareActivity implements ScreenCoordinato
     }
   }
 
+  @Override
+  protected void onSaveInstanceState(Bundle outState) {
+    super.onSaveInstanceState(outState);
+    screenCoordinator.onSaveInstanceState(outState);
+  }
+
   @Override
   public ScreenCoordinator getScreenCoordinator() {
     return screenCoordinator;
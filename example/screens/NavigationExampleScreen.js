@@ -12,7 +12,11 @@ import LoremImage from '../components/LoremImage';
 import Screen from '../components/Screen';
 import Row from '../components/Row';
 
-const propTypes = {};
+const PRELOADED_PROPS = { title: 'Preloaded' };
+
+const propTypes = {
+  title: PropTypes.string,
+};
 const defaultProps = {};
 const contextTypes = {
   nativeNavigationInstanceId: PropTypes.string,
@@ -21,9 +25,17 @@ const contextTypes = {
 const { width } = Dimensions.get('window');
 
 export default class NavigationExampleScreen extends Component {
+  componentDidMount() {
+    if (!this.props.title) {
+      // The pushed screen should show this title as soon as it appears, even though it was set
+      // while the screen was rendered offscreen.
+      Navigator.preload('ScreenOne', PRELOADED_PROPS);
+    }
+  }
+
   render() {
     return (
-      <Screen>
+      <Screen title={this.props.title}>
         <LoremImage
           width={width}
           height={width / 1.6}
@@ -40,6 +52,10 @@ export default class NavigationExampleScreen extends Component {
           title="Push new screen"
           onPress={() => Navigator.push('ScreenOne')}
         />
+        <Row
+          title="Push preloaded screen"
+          onPress={() => Navigator.push('ScreenOne', PRELOADED_PROPS)}
+        />
         <Row
           title="Pop"
           onPress={() => Navigator.pop()}
@@ -0,0 +1,87 @@
+package android.os;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Off-device stand-in for {@code android.os.Bundle}, backed by a map the same way the real one is
+ * (before it is parceled). Only the methods used by the code under benchmark are implemented.
+ */
+public final class Bundle implements Parcelable {
+  private final Map<String, Object> map;
+
+  public Bundle() {
+    map = new HashMap<>();
+  }
+
+  public Bundle(Bundle bundle) {
+    map = new HashMap<>(bundle.map);
+  }
+
+  public int size() {
+    return map.size();
+  }
+
+  public boolean isEmpty() {
+    return map.isEmpty();
+  }
+
+  public boolean containsKey(String key) {
+    return map.containsKey(key);
+  }
+
+  public Object get(String key) {
+    return map.get(key);
+  }
+
+  public Set<String> keySet() {
+    return map.keySet();
+  }
+
+  public void putBoolean(String key, boolean value) {
+    map.put(key, value);
+  }
+
+  public void putInt(String key, int value) {
+    map.put(key, value);
+  }
+
+  public void putDouble(String key, double value) {
+    map.put(key, value);
+  }
+
+  public void putString(String key, String value) {
+    map.put(key, value);
+  }
+
+  public void putBundle(String key, Bundle value) {
+    map.put(key, value);
+  }
+
+  public void putBooleanArray(String key, boolean[] value) {
+    map.put(key, value);
+  }
+
+  public void putIntArray(String key, int[] value) {
+    map.put(key, value);
+  }
+
+  public void putDoubleArray(String key, double[] value) {
+    map.put(key, value);
+  }
+
+  public void putStringArray(String key, String[] value) {
+    map.put(key, value);
+  }
+
+  public void putParcelableArrayList(String key, ArrayList<? extends Parcelable> value) {
+    map.put(key, value);
+  }
+
+  public void putSerializable(String key, Serializable value) {
+    map.put(key, value);
+  }
+}
@@ -0,0 +1,5 @@
+package android.os;
+
+/** Off-device stand-in for {@code android.os.Parcelable}. Nothing is ever parceled off-device. */
+public interface Parcelable {
+}
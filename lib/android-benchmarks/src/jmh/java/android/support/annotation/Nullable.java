@@ -0,0 +1,12 @@
+package android.support.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+
+import static java.lang.annotation.RetentionPolicy.CLASS;
+
+/** Off-device stand-in for the support library's {@code Nullable}. */
+@Documented
+@Retention(CLASS)
+public @interface Nullable {
+}
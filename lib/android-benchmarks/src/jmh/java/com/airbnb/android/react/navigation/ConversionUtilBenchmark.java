@@ -0,0 +1,83 @@
+package com.airbnb.android.react.navigation;
+
+import android.os.Bundle;
+
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link ConversionUtil} calls made on every push, present, dismiss and
+ * {@code setScreenProperties}. Run with {@code ./gradlew :native-navigation-benchmarks:jmh}; the
+ * GC profiler is enabled, so {@code gc.alloc.rate.norm} in the results is the bytes allocated per
+ * conversion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ConversionUtilBenchmark {
+  @Param({
+      ConversionUtilFixtures.SMALL,
+      ConversionUtilFixtures.MEDIUM,
+      ConversionUtilFixtures.LARGE,
+      ConversionUtilFixtures.DEEP,
+  })
+  public String payload;
+
+  private ReadableMap props;
+  private ReadableMap otherProps;
+  private Map<String, Object> propsAsMap;
+  private ObjectReader mapReader;
+
+  @Setup
+  public void setUp() {
+    props = ConversionUtilFixtures.create(payload);
+    otherProps = ConversionUtilFixtures.create(ConversionUtilFixtures.SMALL);
+    propsAsMap = ConversionUtil.toMap(props);
+    mapReader = new ObjectMapper().readerFor(Map.class);
+  }
+
+  @Benchmark
+  public Bundle toBundle() {
+    return ConversionUtil.toBundle(props);
+  }
+
+  @Benchmark
+  public Map<String, Object> toMap() {
+    return ConversionUtil.toMap(props);
+  }
+
+  @Benchmark
+  public ObjectNode toJsonObject() {
+    return ConversionUtil.toJsonObject(props);
+  }
+
+  @Benchmark
+  public Map<?, ?> toType() {
+    return ConversionUtil.toType(mapReader, props);
+  }
+
+  @Benchmark
+  public ReadableMap combine() {
+    return ConversionUtil.combine(props, otherProps);
+  }
+
+  @Benchmark
+  public WritableMap toWritableMap() {
+    return ConversionUtil.toWritableMap(propsAsMap);
+  }
+}
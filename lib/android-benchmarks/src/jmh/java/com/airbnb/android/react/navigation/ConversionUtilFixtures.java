@@ -0,0 +1,123 @@
+package com.airbnb.android.react.navigation;
+
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeArray;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import java.util.Random;
+
+/**
+ * Prop payloads shaped like the ones apps send through {@code push}, {@code present} and
+ * {@code setScreenProperties}. They are generated from a fixed seed so that every run (and every
+ * branch being compared) converts exactly the same data.
+ */
+final class ConversionUtilFixtures {
+  /** A handful of flat screen options, like a title and a couple of flags. */
+  static final String SMALL = "small";
+  /** A typical screen's props: a couple dozen values, two levels deep, with short arrays. */
+  static final String MEDIUM = "medium";
+  /** A detail screen handing over a whole model: arrays of objects, three levels deep. */
+  static final String LARGE = "large";
+  /** A narrow payload nested eight levels deep. */
+  static final String DEEP = "deep";
+
+  private static final long SEED = 42;
+  private static final String[] WORDS = {
+      "listing", "reservation", "host", "guest", "photo", "review", "amenity", "price", "title",
+      "subtitle", "description", "location", "city", "country", "rating", "count", "available",
+      "instant", "superhost", "checkin", "checkout", "currency", "url", "thumbnail",
+  };
+
+  private ConversionUtilFixtures() {
+  }
+
+  static WritableMap create(String payload) {
+    Random random = new Random(SEED);
+    switch (payload) {
+      case SMALL:
+        return createSmall();
+      case MEDIUM:
+        return createMap(random, 24, 2, 4);
+      case LARGE:
+        return createMap(random, 40, 3, 12);
+      case DEEP:
+        return createDeep(random, 8);
+      default:
+        throw new IllegalArgumentException("Unknown payload: " + payload);
+    }
+  }
+
+  private static WritableMap createSmall() {
+    WritableMap map = new WritableNativeMap();
+    map.putString("title", "Reservation details");
+    map.putInt("listingId", 1234567);
+    map.putBoolean("showBackButton", true);
+    map.putDouble("rating", 4.85);
+    map.putNull("subtitle");
+    return map;
+  }
+
+  private static WritableMap createDeep(Random random, int depth) {
+    WritableMap map = new WritableNativeMap();
+    for (int i = 0; i < 3; i++) {
+      putScalar(random, map, WORDS[random.nextInt(WORDS.length)] + i);
+    }
+    if (depth > 1) {
+      map.putMap("child", createDeep(random, depth - 1));
+    }
+    return map;
+  }
+
+  /**
+   * Builds a map with {@code size} entries. Roughly one in eight values is a nested map and one in
+   * eight is an array (of maps, with {@code arraySize} elements), as long as {@code depth} allows.
+   */
+  private static WritableMap createMap(Random random, int size, int depth, int arraySize) {
+    WritableMap map = new WritableNativeMap();
+    for (int i = 0; i < size; i++) {
+      String key = WORDS[random.nextInt(WORDS.length)] + i;
+      int kind = random.nextInt(8);
+      if (depth > 1 && kind == 0) {
+        map.putMap(key, createMap(random, Math.max(2, size / 3), depth - 1, arraySize));
+      } else if (depth > 1 && kind == 1) {
+        map.putArray(key, createArray(random, size, depth - 1, arraySize));
+      } else {
+        putScalar(random, map, key);
+      }
+    }
+    return map;
+  }
+
+  private static WritableArray createArray(Random random, int size, int depth, int arraySize) {
+    WritableArray array = new WritableNativeArray();
+    for (int i = 0; i < arraySize; i++) {
+      if (random.nextBoolean()) {
+        array.pushMap(createMap(random, Math.max(2, size / 6), depth, arraySize / 2));
+      } else {
+        array.pushString(WORDS[random.nextInt(WORDS.length)]);
+      }
+    }
+    return array;
+  }
+
+  private static void putScalar(Random random, WritableMap map, String key) {
+    switch (random.nextInt(5)) {
+      case 0:
+        map.putInt(key, random.nextInt(100000));
+        break;
+      case 1:
+        // Non-integral numbers are what send the conversions down their int/double fallback path.
+        map.putDouble(key, random.nextDouble() * 1000);
+        break;
+      case 2:
+        map.putBoolean(key, random.nextBoolean());
+        break;
+      case 3:
+        map.putNull(key);
+        break;
+      default:
+        map.putString(key, WORDS[random.nextInt(WORDS.length)] + " " + random.nextInt(1000));
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package com.facebook.react.bridge;
+
+/**
+ * Mirrors how the native (folly::dynamic backed) collections type and coerce their values. Every
+ * JS number crosses the bridge as a double, and {@code getInt} throws for anything that isn't
+ * integral, exactly like {@code ReadableNativeMap} does on device. Keeping that behavior is what
+ * makes the benchmarks representative of the int/double fallback paths.
+ */
+final class NativeValues {
+  private NativeValues() {
+  }
+
+  static ReadableType typeOf(Object value) {
+    if (value == null) {
+      return ReadableType.Null;
+    } else if (value instanceof Boolean) {
+      return ReadableType.Boolean;
+    } else if (value instanceof Double) {
+      return ReadableType.Number;
+    } else if (value instanceof String) {
+      return ReadableType.String;
+    } else if (value instanceof ReadableMap) {
+      return ReadableType.Map;
+    } else if (value instanceof ReadableArray) {
+      return ReadableType.Array;
+    }
+    throw new IllegalArgumentException("Unsupported value: " + value);
+  }
+
+  static int toInt(Object value) {
+    double d = toDouble(value);
+    if (d != (int) d) {
+      throw new UnexpectedNativeTypeException("Value is not an integer: " + d);
+    }
+    return (int) d;
+  }
+
+  static double toDouble(Object value) {
+    if (!(value instanceof Double)) {
+      throw new UnexpectedNativeTypeException("Value is not a number: " + value);
+    }
+    return (Double) value;
+  }
+
+  static <T> T cast(Object value, Class<T> type) {
+    if (value != null && !type.isInstance(value)) {
+      throw new UnexpectedNativeTypeException(
+          "Expected " + type.getSimpleName() + " but got " + value);
+    }
+    return type.cast(value);
+  }
+}
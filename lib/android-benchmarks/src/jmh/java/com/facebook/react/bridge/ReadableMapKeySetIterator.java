@@ -0,0 +1,8 @@
+package com.facebook.react.bridge;
+
+/** Off-device stand-in for React Native's {@code ReadableMapKeySetIterator}. */
+public interface ReadableMapKeySetIterator {
+  boolean hasNextKey();
+
+  String nextKey();
+}
@@ -0,0 +1,11 @@
+package com.facebook.react.bridge;
+
+/** Off-device stand-in for React Native's {@code ReadableType}. */
+public enum ReadableType {
+  Null,
+  Boolean,
+  Number,
+  String,
+  Map,
+  Array,
+}
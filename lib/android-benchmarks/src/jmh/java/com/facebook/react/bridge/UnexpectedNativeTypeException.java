@@ -0,0 +1,10 @@
+package com.facebook.react.bridge;
+
+/** Off-device stand-in for React Native's {@code UnexpectedNativeTypeException}. */
+public class UnexpectedNativeTypeException extends RuntimeException {
+  private static final long serialVersionUID = 1L;
+
+  public UnexpectedNativeTypeException(String msg) {
+    super(msg);
+  }
+}
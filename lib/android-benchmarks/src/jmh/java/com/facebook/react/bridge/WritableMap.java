@@ -0,0 +1,20 @@
+package com.facebook.react.bridge;
+
+/** Off-device stand-in for React Native's {@code WritableMap}. */
+public interface WritableMap extends ReadableMap {
+  void putNull(String key);
+
+  void putBoolean(String key, boolean value);
+
+  void putDouble(String key, double value);
+
+  void putInt(String key, int value);
+
+  void putString(String key, String value);
+
+  void putArray(String key, WritableArray value);
+
+  void putMap(String key, WritableMap value);
+
+  void merge(ReadableMap source);
+}
@@ -0,0 +1,92 @@
+package com.facebook.react.bridge;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Off-device stand-in for React Native's {@code WritableNativeArray}. See {@link NativeValues} for
+ * how values are stored.
+ */
+public class WritableNativeArray implements WritableArray {
+  private final List<Object> list = new ArrayList<>();
+
+  @Override
+  public int size() {
+    return list.size();
+  }
+
+  @Override
+  public boolean isNull(int index) {
+    return list.get(index) == null;
+  }
+
+  @Override
+  public boolean getBoolean(int index) {
+    return NativeValues.cast(list.get(index), Boolean.class);
+  }
+
+  @Override
+  public double getDouble(int index) {
+    return NativeValues.toDouble(list.get(index));
+  }
+
+  @Override
+  public int getInt(int index) {
+    return NativeValues.toInt(list.get(index));
+  }
+
+  @Override
+  public String getString(int index) {
+    return NativeValues.cast(list.get(index), String.class);
+  }
+
+  @Override
+  public ReadableArray getArray(int index) {
+    return NativeValues.cast(list.get(index), ReadableArray.class);
+  }
+
+  @Override
+  public ReadableMap getMap(int index) {
+    return NativeValues.cast(list.get(index), ReadableMap.class);
+  }
+
+  @Override
+  public ReadableType getType(int index) {
+    return NativeValues.typeOf(list.get(index));
+  }
+
+  @Override
+  public void pushNull() {
+    list.add(null);
+  }
+
+  @Override
+  public void pushBoolean(boolean value) {
+    list.add(value);
+  }
+
+  @Override
+  public void pushDouble(double value) {
+    list.add(value);
+  }
+
+  @Override
+  public void pushInt(int value) {
+    list.add((double) value);
+  }
+
+  @Override
+  public void pushString(String value) {
+    list.add(value);
+  }
+
+  @Override
+  public void pushArray(WritableArray array) {
+    list.add(array);
+  }
+
+  @Override
+  public void pushMap(WritableMap map) {
+    list.add(map);
+  }
+}
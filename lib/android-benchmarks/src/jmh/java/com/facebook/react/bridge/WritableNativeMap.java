@@ -0,0 +1,137 @@
+package com.facebook.react.bridge;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Off-device stand-in for React Native's {@code WritableNativeMap}. See {@link NativeValues} for
+ * how values are stored.
+ */
+public class WritableNativeMap implements WritableMap {
+  private final Map<String, Object> map = new LinkedHashMap<>();
+
+  @Override
+  public boolean hasKey(String name) {
+    return map.containsKey(name);
+  }
+
+  @Override
+  public boolean isNull(String name) {
+    return map.get(name) == null;
+  }
+
+  @Override
+  public boolean getBoolean(String name) {
+    return NativeValues.cast(map.get(name), Boolean.class);
+  }
+
+  @Override
+  public double getDouble(String name) {
+    return NativeValues.toDouble(map.get(name));
+  }
+
+  @Override
+  public int getInt(String name) {
+    return NativeValues.toInt(map.get(name));
+  }
+
+  @Override
+  public String getString(String name) {
+    return NativeValues.cast(map.get(name), String.class);
+  }
+
+  @Override
+  public ReadableArray getArray(String name) {
+    return NativeValues.cast(map.get(name), ReadableArray.class);
+  }
+
+  @Override
+  public ReadableMap getMap(String name) {
+    return NativeValues.cast(map.get(name), ReadableMap.class);
+  }
+
+  @Override
+  public ReadableType getType(String name) {
+    return NativeValues.typeOf(map.get(name));
+  }
+
+  @Override
+  public ReadableMapKeySetIterator keySetIterator() {
+    final Iterator<String> iterator = map.keySet().iterator();
+    return new ReadableMapKeySetIterator() {
+      @Override
+      public boolean hasNextKey() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public String nextKey() {
+        return iterator.next();
+      }
+    };
+  }
+
+  @Override
+  public void putNull(String key) {
+    map.put(key, null);
+  }
+
+  @Override
+  public void putBoolean(String key, boolean value) {
+    map.put(key, value);
+  }
+
+  @Override
+  public void putDouble(String key, double value) {
+    map.put(key, value);
+  }
+
+  @Override
+  public void putInt(String key, int value) {
+    map.put(key, (double) value);
+  }
+
+  @Override
+  public void putString(String key, String value) {
+    map.put(key, value);
+  }
+
+  @Override
+  public void putArray(String key, WritableArray value) {
+    map.put(key, value);
+  }
+
+  @Override
+  public void putMap(String key, WritableMap value) {
+    map.put(key, value);
+  }
+
+  @Override
+  public void merge(ReadableMap source) {
+    ReadableMapKeySetIterator iterator = source.keySetIterator();
+    while (iterator.hasNextKey()) {
+      String key = iterator.nextKey();
+      switch (source.getType(key)) {
+        case Null:
+          map.put(key, null);
+          break;
+        case Boolean:
+          map.put(key, source.getBoolean(key));
+          break;
+        case Number:
+          map.put(key, source.getDouble(key));
+          break;
+        case String:
+          map.put(key, source.getString(key));
+          break;
+        case Map:
+          map.put(key, source.getMap(key));
+          break;
+        case Array:
+          map.put(key, source.getArray(key));
+          break;
+      }
+    }
+  }
+}
@@ -119,6 +119,22 @@ import java.util.Map;
     }
   }
 
+  /**
+   * Adds the shared elements of the screen {@code instanceId} that are in {@code group} to the
+   * fragment transaction. Unlike {@link #addSharedElementsToFragmentTransaction(FragmentTransaction,
+   * ViewGroup)}, this looks them up in the {@link SharedElementIndex} instead of walking the group.
+   */
+  static void addSharedElementsToFragmentTransaction(
+          FragmentTransaction ft, String instanceId, ViewGroup group) {
+    List<Pair<View, String>> transitionViews = new ArrayList<>();
+    ReactNavigationCoordinator.sharedInstance.getSharedElementIndex()
+        .findTransitionViews(instanceId, group, transitionViews);
+
+    for (Pair<View, String> tv : transitionViews) {
+      ft.addSharedElement(tv.first, tv.second);
+    }
+  }
+
   /**
    * @see #getActivityOptions(Activity, View)
    */
@@ -149,6 +165,25 @@ import java.util.Map;
         (new Pair[transitionViews.size()]));
   }
 
+  /**
+   * Creates activity options with the shared elements of the screen {@code instanceId} that are in
+   * {@code group}, and the system UI. The shared elements are looked up in the
+   * {@link SharedElementIndex} instead of walking the group.
+   */
+  static Bundle getActivityOptionsBundle(Activity activity, String instanceId, ViewGroup group) {
+    List<Pair<View, String>> transitionViews = new ArrayList<>();
+
+    if (VERSION.SDK_INT >= TARGET_API) {
+      ReactNavigationCoordinator.sharedInstance.getSharedElementIndex()
+          .findTransitionViews(instanceId, group, transitionViews);
+      addSystemUi(activity, transitionViews);
+    }
+
+    //noinspection unchecked
+    return ActivityOptionsCompat.makeSceneTransitionAnimation(activity, transitionViews.toArray
+        (new Pair[transitionViews.size()])).toBundle();
+  }
+
   @TargetApi(TARGET_API)
   private static void addSystemUi(Activity activity, List<Pair<View, String>> transitionViews) {
     View decor = activity.getWindow().getDecorView();
@@ -1,13 +1,19 @@
 package com.airbnb.android.react.navigation;
 
+import android.os.Bundle;
 import android.support.annotation.Nullable;
 import android.support.v4.app.Fragment;
+import android.support.v4.app.FragmentManager;
 
 import com.facebook.react.bridge.Promise;
 
 import java.util.Stack;
 
 class BackStack {
+  private static final String STATE_TAG = "tag";
+  private static final String STATE_ANIMATION = "animation";
+  private static final String STATE_SIZE = "size";
+  private static final String STATE_FRAGMENT = "fragment";
 
   private final Stack<Fragment> fragments = new Stack<>();
   private final String tag;
@@ -55,6 +61,42 @@ class BackStack {
     return fragments.size();
   }
 
+  /**
+   * Saves the structure of this back stack. The fragments themselves are saved by the fragment
+   * manager, so we only keep references to them, which keeps this small no matter how deep the
+   * stack is or how big the props of its screens are.
+   */
+  Bundle saveState(FragmentManager fragmentManager) {
+    Bundle state = new Bundle();
+    state.putString(STATE_TAG, tag);
+    state.putString(STATE_ANIMATION, animation.name());
+    state.putInt(STATE_SIZE, fragments.size());
+    for (int i = 0; i < fragments.size(); i++) {
+      fragmentManager.putFragment(state, STATE_FRAGMENT + i, fragments.get(i));
+    }
+    return state;
+  }
+
+  /**
+   * Restores a back stack saved with {@link #saveState(FragmentManager)}, once the fragment manager
+   * has restored its own state. The promise it was presented with belonged to the JS context that
+   * presented it, so it can't be restored.
+   */
+  static BackStack restoreState(Bundle state, FragmentManager fragmentManager) {
+    BackStack backStack = new BackStack(
+        state.getString(STATE_TAG),
+        ScreenCoordinator.PresentAnimation.valueOf(state.getString(STATE_ANIMATION)),
+        null);
+    int size = state.getInt(STATE_SIZE);
+    for (int i = 0; i < size; i++) {
+      Fragment fragment = fragmentManager.getFragment(state, STATE_FRAGMENT + i);
+      if (fragment != null) {
+        backStack.pushFragment(fragment);
+      }
+    }
+    return backStack;
+  }
+
   @Override
   public String toString() {
     return "BackStack{" + ", tag='" + tag +
@@ -0,0 +1,137 @@
+package com.airbnb.android.react.navigation;
+
+import android.support.annotation.Nullable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps track of the live {@link ReactInterface}s by instance id, along with the per-instance
+ * settings JS sends for them.
+ *
+ * Components are registered and unregistered on the main thread, but they are looked up from both
+ * the main thread and the native modules thread, and settings are written from the latter, so every
+ * method here is thread safe.
+ *
+ * Components are only held weakly. An entry stays around (without being returned from
+ * {@link #get(String)}) after its component is unregistered, so that it can be purged together with
+ * the component's settings once the component is garbage collected, instead of growing the maps for
+ * every screen shown in the session.
+ */
+final class ComponentRegistry {
+  private enum State {
+    /** The component is showing, or about to be shown. */
+    REGISTERED,
+    /** The component's view was destroyed, but it may be registered again from the back stack. */
+    UNREGISTERED,
+    /** The component was destroyed and should be garbage collected. */
+    DESTROYED
+  }
+
+  private static final class ComponentReference extends WeakReference<ReactInterface> {
+    final String instanceId;
+    volatile State state = State.REGISTERED;
+
+    ComponentReference(
+        String instanceId, ReactInterface component, ReferenceQueue<ReactInterface> queue) {
+      super(component, queue);
+      this.instanceId = instanceId;
+    }
+  }
+
+  private final ReferenceQueue<ReactInterface> queue = new ReferenceQueue<>();
+  private final ConcurrentMap<String /* instance id */, ComponentReference> components =
+      new ConcurrentHashMap<>();
+  private final ConcurrentMap<String /* instance id */, Boolean> dismissCloseBehaviors =
+      new ConcurrentHashMap<>();
+
+  void register(String instanceId, ReactInterface component) {
+    purge();
+    ComponentReference ref = components.get(instanceId);
+    if (ref != null && ref.get() == component) {
+      ref.state = State.REGISTERED;
+    } else {
+      components.put(instanceId, new ComponentReference(instanceId, component, queue));
+    }
+  }
+
+  void unregister(String instanceId) {
+    setState(instanceId, State.UNREGISTERED);
+  }
+
+  /** Marks the component as gone for good. Its settings are dropped once it's been collected. */
+  void destroy(String instanceId) {
+    setState(instanceId, State.DESTROYED);
+  }
+
+  /** Returns the registered component with the given id, or null if there isn't one. */
+  @Nullable
+  ReactInterface get(String instanceId) {
+    ComponentReference ref = components.get(instanceId);
+    return ref == null || ref.state != State.REGISTERED ? null : ref.get();
+  }
+
+  /**
+   * Ignored for components that aren't known here, since nothing would ever purge the setting.
+   */
+  void setDismissCloseBehavior(String instanceId, boolean dismissClose) {
+    purge();
+    if (!components.containsKey(instanceId)) {
+      return;
+    }
+    dismissCloseBehaviors.put(instanceId, dismissClose);
+    // The component may have been purged on another thread in the meantime.
+    if (!components.containsKey(instanceId)) {
+      dismissCloseBehaviors.remove(instanceId);
+    }
+  }
+
+  boolean getDismissCloseBehavior(String instanceId) {
+    Boolean dismissClose = dismissCloseBehaviors.get(instanceId);
+    return dismissClose != null && dismissClose;
+  }
+
+  /** Number of components that are currently registered. */
+  int getLiveCount() {
+    return count(State.REGISTERED);
+  }
+
+  /** Number of components that were destroyed, but haven't been garbage collected. */
+  int getLeakedCount() {
+    return count(State.DESTROYED);
+  }
+
+  private int count(State state) {
+    purge();
+    int count = 0;
+    for (ComponentReference ref : components.values()) {
+      if (ref.state == state && ref.get() != null) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private void setState(String instanceId, State state) {
+    ComponentReference ref = components.get(instanceId);
+    if (ref != null) {
+      ref.state = state;
+    }
+    purge();
+  }
+
+  /** Drops the entries of components that have been garbage collected. */
+  private void purge() {
+    Reference<? extends ReactInterface> reference;
+    while ((reference = queue.poll()) != null) {
+      ComponentReference ref = (ComponentReference) reference;
+      // The id may have been registered again with a new component since, which we keep.
+      if (components.remove(ref.instanceId, ref)) {
+        dismissCloseBehaviors.remove(ref.instanceId);
+      }
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.airbnb.android.react.navigation;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.facebook.react.bridge.ReadableType;
+
+/**
+ * Compares {@link ReadableMap}s, such as versions of a tab bar's config. Screen configs are compared
+ * through {@link ScreenConfig} instead.
+ */
+final class ConfigDiff {
+  private ConfigDiff() {
+  }
+
+  static boolean mapEqual(ReadableMap a, ReadableMap b) {
+    ReadableMapKeySetIterator iterator = a.keySetIterator();
+    while (iterator.hasNextKey()) {
+      if (!b.hasKey(iterator.nextKey())) {
+        return false;
+      }
+    }
+    iterator = b.keySetIterator();
+    while (iterator.hasNextKey()) {
+      String key = iterator.nextKey();
+      if (!a.hasKey(key) || !valueEqual(a, b, key)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static boolean arrayEqual(ReadableArray a, ReadableArray b) {
+    if (a.size() != b.size()) {
+      return false;
+    }
+    for (int i = 0; i < a.size(); i++) {
+      ReadableType type = a.getType(i);
+      if (type != b.getType(i)) {
+        return false;
+      }
+      switch (type) {
+        case Null:
+          break;
+        case Boolean:
+          if (a.getBoolean(i) != b.getBoolean(i)) return false;
+          break;
+        case Number:
+          if (a.getDouble(i) != b.getDouble(i)) return false;
+          break;
+        case String:
+          if (!a.getString(i).equals(b.getString(i))) return false;
+          break;
+        case Map:
+          if (!mapEqual(a.getMap(i), b.getMap(i))) return false;
+          break;
+        case Array:
+          if (!arrayEqual(a.getArray(i), b.getArray(i))) return false;
+          break;
+      }
+    }
+    return true;
+  }
+
+  /** Compares the values of {@code key}, which must be present in both maps. */
+  private static boolean valueEqual(ReadableMap a, ReadableMap b, String key) {
+    ReadableType type = a.getType(key);
+    if (type != b.getType(key)) {
+      return false;
+    }
+    switch (type) {
+      case Boolean:
+        return a.getBoolean(key) == b.getBoolean(key);
+      case Number:
+        return a.getDouble(key) == b.getDouble(key);
+      case String:
+        return a.getString(key).equals(b.getString(key));
+      case Map:
+        return mapEqual(a.getMap(key), b.getMap(key));
+      case Array:
+        return arrayEqual(a.getArray(key), b.getArray(key));
+      default:
+        return true;
+    }
+  }
+}
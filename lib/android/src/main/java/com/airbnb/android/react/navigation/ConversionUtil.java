@@ -1,6 +1,7 @@
 package com.airbnb.android.react.navigation;
 
 import android.os.Bundle;
+import android.support.annotation.Nullable;
 import android.util.Log;
 
 import com.facebook.react.bridge.*;
@@ -39,11 +40,7 @@ final class ConversionUtil {
           result.put(key, readableMap.getBoolean(key));
           break;
         case Number:
-          try {
-            result.put(key, readableMap.getInt(key));
-          } catch (Exception e) {
-            result.put(key, readableMap.getDouble(key));
-          }
+          result.put(key, toNumber(readableMap.getDouble(key)));
           break;
         case String:
           result.put(key, readableMap.getString(key));
@@ -64,11 +61,18 @@ final class ConversionUtil {
   /** Converts the provided {@code readableMap} into an object of the provided {@code targetType} */
   static <T> T toType(ObjectMapper objectMapper, ReadableMap readableMap, Class<T>
       targetType) {
-    ObjectNode jsonNode = toJsonObject(readableMap);
-    ObjectReader objectReader = JacksonUtils.readerForType(objectMapper, targetType);
+    return toType(JacksonUtils.readerForType(objectMapper, targetType), readableMap);
+  }
+
+  /**
+   * Converts the provided {@code readableMap} with an {@link ObjectReader} that was created for the
+   * target type ahead of time. Jackson reads the map directly (see {@link ReadableMapJsonParser}),
+   * so no JSON tree is built along the way.
+   */
+  static <T> T toType(ObjectReader objectReader, ReadableMap readableMap) {
     //noinspection OverlyBroadCatchBlock
     try {
-      return objectReader.readValue(jsonNode);
+      return objectReader.readValue(new ReadableMapJsonParser(readableMap, objectReader));
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
@@ -157,16 +161,17 @@ final class ConversionUtil {
           result.putBoolean(key, readableMap.getBoolean(key));
           break;
         case Number:
-          try {
-            // NOTE(lmr):
-            // this is a bit of a hack right now to prefer integer types in cases where the 
-            // number can be a valid int,
-            // and fall back to doubles in every other case. Long-term we will figure out a 
-            // reliable way to add this meta
-            // data.
-            result.putInt(key, readableMap.getInt(key));
-          } catch (Exception e) {
-            result.putDouble(key, readableMap.getDouble(key));
+          // NOTE(lmr):
+          // this is a bit of a hack right now to prefer integer types in cases where the
+          // number can be a valid int,
+          // and fall back to doubles in every other case. Long-term we will figure out a
+          // reliable way to add this meta
+          // data.
+          double number = readableMap.getDouble(key);
+          if (isInteger(number)) {
+            result.putInt(key, (int) number);
+          } else {
+            result.putDouble(key, number);
           }
           break;
         case String:
@@ -176,10 +181,7 @@ final class ConversionUtil {
           result.putBundle(key, toBundle(readableMap.getMap(key)));
           break;
         case Array:
-          // NOTE(lmr): This is a limitation of the Bundle class. Wonder if there is a clean way 
-          // for us
-          // to get around it. For now i'm just skipping...
-          Log.e(TAG, "Cannot put arrays of objects into bundles. Failed on: " + key + ".");
+          putArray(result, key, readableMap.getArray(key));
           break;
         default:
           Log.e(TAG, "Could not convert object with key: " + key + ".");
@@ -188,10 +190,117 @@ final class ConversionUtil {
     return result;
   }
 
+  /**
+   * Puts {@code array} into {@code bundle} as the most compact type that survives being parceled
+   * and that {@code Arguments.fromBundle()} (which React Native uses to turn a root view's launch
+   * options back into JS props) understands: a primitive or {@code String} array when every element
+   * has the same type, a list of bundles for an array of objects, and a plain list otherwise.
+   */
+  private static void putArray(Bundle bundle, String key, ReadableArray array) {
+    int size = array.size();
+    ReadableType elementType = size > 0 ? array.getType(0) : null;
+    for (int i = 1; i < size && elementType != null; i++) {
+      if (array.getType(i) != elementType) {
+        elementType = null;
+      }
+    }
+    if (elementType == null) {
+      // Empty or heterogeneous
+      bundle.putSerializable(key, toList(array));
+      return;
+    }
+    switch (elementType) {
+      case Boolean:
+        boolean[] booleans = new boolean[size];
+        for (int i = 0; i < size; i++) {
+          booleans[i] = array.getBoolean(i);
+        }
+        bundle.putBooleanArray(key, booleans);
+        break;
+      case Number:
+        double[] doubles = new double[size];
+        boolean integers = true;
+        for (int i = 0; i < size; i++) {
+          doubles[i] = array.getDouble(i);
+          integers = integers && isInteger(doubles[i]);
+        }
+        if (integers) {
+          int[] ints = new int[size];
+          for (int i = 0; i < size; i++) {
+            ints[i] = (int) doubles[i];
+          }
+          bundle.putIntArray(key, ints);
+        } else {
+          bundle.putDoubleArray(key, doubles);
+        }
+        break;
+      case String:
+        String[] strings = new String[size];
+        for (int i = 0; i < size; i++) {
+          strings[i] = array.getString(i);
+        }
+        bundle.putStringArray(key, strings);
+        break;
+      case Map:
+        ArrayList<Bundle> bundles = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+          bundles.add(toBundle(array.getMap(i)));
+        }
+        bundle.putParcelableArrayList(key, bundles);
+        break;
+      default:
+        bundle.putSerializable(key, toList(array));
+    }
+  }
+
+  /**
+   * Converts {@code array} into a list of values that can be written to a {@link android.os.Parcel}
+   * (nested maps become bundles and nested arrays become lists).
+   */
+  private static ArrayList<Object> toList(ReadableArray array) {
+    ArrayList<Object> result = new ArrayList<>(array.size());
+    for (int i = 0; i < array.size(); i++) {
+      ReadableType indexType = array.getType(i);
+      switch (indexType) {
+        case Null:
+          result.add(null);
+          break;
+        case Boolean:
+          result.add(array.getBoolean(i));
+          break;
+        case Number:
+          result.add(toNumber(array.getDouble(i)));
+          break;
+        case String:
+          result.add(array.getString(i));
+          break;
+        case Map:
+          result.add(toBundle(array.getMap(i)));
+          break;
+        case Array:
+          result.add(toList(array.getArray(i)));
+          break;
+        default:
+          Log.e(TAG, "Could not convert object at index " + i + ".");
+      }
+    }
+    return result;
+  }
+
   static void merge(WritableMap target, ReadableMap map) {
+    merge(target, map, null);
+  }
+
+  /** Merges {@code map} into {@code target}, skipping any keys that {@code overrides} has. */
+  private static void merge(
+      WritableMap target, ReadableMap map, @Nullable ReadableMap overrides) {
     ReadableMapKeySetIterator iterator = map.keySetIterator();
     while (iterator.hasNextKey()) {
       String key = iterator.nextKey();
+      if (overrides != null && overrides.hasKey(key)) {
+        // No point in cloning a value that is about to be replaced.
+        continue;
+      }
       ReadableType type = map.getType(key);
       switch (type) {
         case Null:
@@ -201,10 +310,11 @@ final class ConversionUtil {
           target.putBoolean(key, map.getBoolean(key));
           break;
         case Number:
-          try {
-            target.putInt(key, map.getInt(key));
-          } catch (Exception e) {
-            target.putDouble(key, map.getDouble(key));
+          double number = map.getDouble(key);
+          if (isInteger(number)) {
+            target.putInt(key, (int) number);
+          } else {
+            target.putDouble(key, number);
           }
           break;
         case String:
@@ -240,10 +350,11 @@ final class ConversionUtil {
           result.pushBoolean(source.getBoolean(i));
           break;
         case Number:
-          try {
-            result.pushInt(source.getInt(i));
-          } catch (Exception e) {
-            result.pushDouble(source.getDouble(i));
+          double number = source.getDouble(i);
+          if (isInteger(number)) {
+            result.pushInt((int) number);
+          } else {
+            result.pushDouble(number);
           }
           break;
         case String:
@@ -262,9 +373,26 @@ final class ConversionUtil {
     return result;
   }
 
+  /**
+   * Every JS number crosses the bridge as a double, so this is how we tell whether one was meant to
+   * be an int. Calling {@code getInt} and catching the exception it throws for non-integral values
+   * would do the same, but it captures a stack trace for every price or coordinate in the props.
+   */
+  static boolean isInteger(double number) {
+    // The cast saturates for values out of int range and turns NaN into 0, so both compare unequal.
+    return number == (int) number;
+  }
+
+  private static Object toNumber(double number) {
+    if (isInteger(number)) {
+      return (int) number;
+    }
+    return number;
+  }
+
   static ReadableMap combine(ReadableMap a, ReadableMap b) {
     WritableMap result = new WritableNativeMap();
-    merge(result, a);
+    merge(result, a, b);
     merge(result, b);
     return result;
   }
@@ -446,7 +574,7 @@ final class ConversionUtil {
     return result;
   }
 
-  private static WritableArray toWritableArray(List<Object> array) {
+  static WritableArray toWritableArray(List<Object> array) {
     WritableNativeArray result = new WritableNativeArray();
 
     for (Object value : array) {
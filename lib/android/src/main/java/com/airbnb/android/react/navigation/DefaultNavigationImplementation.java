@@ -10,6 +10,7 @@ import android.graphics.Color;
 import android.graphics.PorterDuff;
 import android.graphics.drawable.Drawable;
 import android.os.Build;
+import android.support.annotation.Nullable;
 import android.support.design.internal.BottomNavigationItemView;
 import android.support.design.internal.BottomNavigationMenu;
 import android.support.design.internal.BottomNavigationMenuView;
@@ -21,11 +22,15 @@ import android.util.Log;
 import android.util.TypedValue;
 import android.view.*;
 import com.airbnb.android.R;
-import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
-import com.facebook.react.bridge.ReadableMapKeySetIterator;
 import com.facebook.react.bridge.ReadableType;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 public class DefaultNavigationImplementation implements NavigationImplementation {
@@ -96,7 +101,7 @@ public class DefaultNavigationImplementation implements NavigationImplementation
       ReactInterface component,
       ReactToolbar toolbar,
       ActionBar actionBar,
-      ReadableMap config,
+      ScreenConfig config,
       boolean firstCall
   ) {
 
@@ -117,363 +122,348 @@ public class DefaultNavigationImplementation implements NavigationImplementation
     return activity.getResources().getDimensionPixelSize(R.dimen.abc_action_bar_default_height_material);
   }
 
-  @TargetApi(Build.VERSION_CODES.M)
-  private void reconcileStatusBarStyleOnM(
-      Activity activity,
-      ReadableMap prev,
-      ReadableMap next,
-      boolean firstCall
-  ) {
-    if (firstCall || stringHasChanged("statusBarStyle", prev, next)) {
-      View decorView = activity.getWindow().getDecorView();
-      if (next.hasKey("statusBarStyle")) {
-        String style = next.getString("statusBarStyle");
-        decorView.setSystemUiVisibility(
-            style.equals("default") ? View.SYSTEM_UI_FLAG_LIGHT_STATUS_BAR : 0);
-      } else {
-        decorView.setSystemUiVisibility(0);
-      }
-    }
-  }
-
-  @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-  private void reconcileStatusBarStyleOnLollipop(
-      final Activity activity,
-      ReadableMap prev,
-      ReadableMap next,
-      boolean firstCall
-  ) {
-    if (firstCall || numberHasChanged("statusBarColor", prev, next)) {
-      boolean animated = false;
-      if (next.hasKey("statusBarAnimation")) {
-        animated = !("none".equals(next.getString("statusBarAnimation")));
-      }
-
-      Integer color = defaults.statusBarColor;
-      if (next.hasKey("statusBarColor")) {
-        color = next.getInt("statusBarColor");
-      }
-
-      if (animated) {
-        int curColor = activity.getWindow().getStatusBarColor();
-        ValueAnimator colorAnimation = ValueAnimator.ofObject(
-            new ArgbEvaluator(), curColor, color);
-
-        colorAnimation.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-          @Override
-          public void onAnimationUpdate(ValueAnimator animator) {
-            activity.getWindow().setStatusBarColor((Integer) animator.getAnimatedValue());
-          }
-        });
-        colorAnimation
-            .setDuration(300)
-            .setStartDelay(0);
-        colorAnimation.start();
-      } else {
-        activity.getWindow().setStatusBarColor(color);
-      }
-    }
-
-    if (firstCall || boolHasChanged("statusBarTranslucent", prev, next)) {
-      boolean translucent = defaults.statusBarTranslucent;
-      if (next.hasKey("statusBarTranslucent")) {
-        translucent = next.getBoolean("statusBarTranslucent");
-      }
-      View decorView = activity.getWindow().getDecorView();
-      // If the status bar is translucent hook into the window insets calculations
-      // and consume all the top insets so no padding will be added under the status bar.
-      if (translucent) {
-        decorView.setOnApplyWindowInsetsListener(new View.OnApplyWindowInsetsListener() {
-          @Override
-          public WindowInsets onApplyWindowInsets(View v, WindowInsets insets) {
-            WindowInsets defaultInsets = v.onApplyWindowInsets(insets);
-            return defaultInsets.replaceSystemWindowInsets(
-                defaultInsets.getSystemWindowInsetLeft(),
-                0,
-                defaultInsets.getSystemWindowInsetRight(),
-                defaultInsets.getSystemWindowInsetBottom());
-          }
-        });
-      } else {
-        decorView.setOnApplyWindowInsetsListener(null);
-      }
+  /** What a {@link NavigationProperty} gets applied to. */
+  private static class ReconcileTarget {
+    final ReactInterface component;
+    final ReactToolbar toolbar;
+    @Nullable final ActionBar bar;
 
-      ViewCompat.requestApplyInsets(decorView);
+    ReconcileTarget(ReactInterface component, ReactToolbar toolbar, @Nullable ActionBar bar) {
+      this.component = component;
+      this.toolbar = toolbar;
+      this.bar = bar;
     }
   }
 
-  private void reconcileStatusBarStyle(
-      Activity activity,
-      ReadableMap prev,
-      ReadableMap next,
-      boolean firstCall
-  ) {
-    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
-      reconcileStatusBarStyleOnM(
-          activity,
-          prev,
-          next,
-          firstCall
-      );
-    }
-
-    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
-      reconcileStatusBarStyleOnLollipop(
-          activity,
-          prev,
-          next,
-          firstCall
-      );
-    }
-
-    if (firstCall || boolHasChanged("statusBarHidden", prev, next)) {
-      boolean hidden = false;
-      if (next.hasKey("statusBarHidden")) {
-        hidden = next.getBoolean("statusBarHidden");
-      }
-      if (hidden) {
-        activity.getWindow().addFlags(WindowManager.LayoutParams.FLAG_FULLSCREEN);
-        activity.getWindow().clearFlags(WindowManager.LayoutParams.FLAG_FORCE_NOT_FULLSCREEN);
-      } else {
-        activity.getWindow().addFlags(WindowManager.LayoutParams.FLAG_FORCE_NOT_FULLSCREEN);
-        activity.getWindow().clearFlags(WindowManager.LayoutParams.FLAG_FULLSCREEN);
+  /**
+   * The navigation properties we know how to apply, each with the config keys it reads. On every
+   * reconciliation we only apply the properties whose keys have changed. On the first one we also
+   * apply every property that has a default, even if its keys aren't set.
+   */
+  private enum NavigationProperty {
+    TITLE(false, "title") {
+      @Override
+      void apply(DefaultNavigationImplementation impl, ReconcileTarget target, ScreenConfig next) {
+        target.toolbar.setTitle(has(next, "title", ReadableType.String)
+            ? next.getString("title")
+            : null);
+      }
+    },
+    TITLE_COLOR(true, "titleColor", "foregroundColor") {
+      @Override
+      void apply(DefaultNavigationImplementation impl, ReconcileTarget target, ScreenConfig next) {
+        if (has(next, "titleColor", ReadableType.Number)) {
+          target.toolbar.setTitleTextColor(next.getInt("titleColor"));
+        } else {
+          target.toolbar.setTitleTextColor(impl.getForegroundColor(next));
+        }
       }
-    }
-  }
-
-  // NOTE(lmr):
-  // The problem we have now is that we don't know when a "default" is different
-  // than the system default, so those properties start off out of sync...
-  public void reconcileNavigationProperties(
-      ReactInterface component,
-      ReactToolbar toolbar,
-      ActionBar bar,
-      ReadableMap prev,
-      ReadableMap next,
-      boolean firstCall
-  ) {
-    Log.d(TAG, "reconcileNavigationProperties");
-
-    Integer foregroundColor = defaults.foregroundColor;
-
-    if (next.hasKey("foregroundColor")) {
-      foregroundColor = next.getInt("foregroundColor");
-    }
-
-    if (stringHasChanged("title", prev, next)) {
-      if (next.hasKey("title")) {
-        String title = next.getString("title");
-        toolbar.setTitle(title);
-      } else {
-        toolbar.setTitle(null);
+    },
+    SUBTITLE(false, "subtitle") {
+      @Override
+      void apply(DefaultNavigationImplementation impl, ReconcileTarget target, ScreenConfig next) {
+        target.toolbar.setSubtitle(has(next, "subtitle", ReadableType.String)
+            ? next.getString("subtitle")
+            : null);
+      }
+    },
+    SUBTITLE_COLOR(true, "subtitleColor", "foregroundColor") {
+      @Override
+      void apply(DefaultNavigationImplementation impl, ReconcileTarget target, ScreenConfig next) {
+        if (has(next, "subtitleColor", ReadableType.Number)) {
+          target.toolbar.setSubtitleTextColor(next.getInt("subtitleColor"));
+        } else {
+          target.toolbar.setSubtitleTextColor(impl.getForegroundColor(next));
+        }
       }
-    }
-
-    if (firstCall || numberHasChanged("titleColor", prev, next)) {
-      if (next.hasKey("titleColor")) {
-        Integer titleColor = next.getInt("titleColor");
-        toolbar.setTitleTextColor(titleColor);
-      } else {
-        toolbar.setTitleTextColor(foregroundColor);
+    },
+    WINDOW_TITLE(false, "windowTitle") {
+      @Override
+      void apply(DefaultNavigationImplementation impl, ReconcileTarget target, ScreenConfig next) {
+        if (target.bar != null) {
+          target.bar.setWindowTitle(has(next, "windowTitle", ReadableType.String)
+              ? next.getString("windowTitle")
+              : null);
+        }
       }
-    }
-
-    if (stringHasChanged("subtitle", prev, next)) {
-      if (next.hasKey("subtitle")) {
-        String subtitle = next.getString("subtitle");
-        toolbar.setSubtitle(subtitle);
-      } else {
-        toolbar.setSubtitle(null);
+    },
+    SCREEN_COLOR(true, "screenColor") {
+      @Override
+      void apply(DefaultNavigationImplementation impl, ReconcileTarget target, ScreenConfig next) {
+        // this is the screen background color
+        target.component.getReactRootView().setBackgroundColor(
+            has(next, "screenColor", ReadableType.Number)
+                ? next.getInt("screenColor")
+                : impl.defaults.screenColor);
+      }
+    },
+    BACKGROUND_COLOR(true, "backgroundColor") {
+      @Override
+      void apply(DefaultNavigationImplementation impl, ReconcileTarget target, ScreenConfig next) {
+        target.toolbar.setBackgroundColor(has(next, "backgroundColor", ReadableType.Number)
+            ? next.getInt("backgroundColor")
+            : impl.defaults.backgroundColor);
+      }
+    },
+    ELEVATION(true, "elevation") {
+      @Override
+      void apply(DefaultNavigationImplementation impl, ReconcileTarget target, ScreenConfig next) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+          target.toolbar.setElevation(has(next, "elevation", ReadableType.Number)
+              ? (float) next.getDouble("elevation")
+              : impl.defaults.elevation);
+        }
       }
-    }
-
-    if (firstCall || numberHasChanged("subtitleColor", prev, next)) {
-      if (next.hasKey("subtitleColor")) {
-        Integer subtitleColor = next.getInt("subtitleColor");
-        toolbar.setSubtitleTextColor(subtitleColor);
-      } else {
-        toolbar.setSubtitleTextColor(foregroundColor);
+    },
+    ALPHA(true, "alpha") {
+      @Override
+      void apply(DefaultNavigationImplementation impl, ReconcileTarget target, ScreenConfig next) {
+        target.toolbar.setAlpha(has(next, "alpha", ReadableType.Number)
+            ? (float) next.getDouble("alpha")
+            : impl.defaults.alpha);
+      }
+    },
+    NAV_ICON(true, "navIcon") {
+      @Override
+      void apply(DefaultNavigationImplementation impl, ReconcileTarget target, ScreenConfig next) {
+        if (has(next, "navIcon", ReadableType.Map)) {
+          target.toolbar.setNavIconSource(next.getMap("navIcon"));
+        } else {
+//        toolbar.setNavigationIcon(android.R.drawable.ic_launchaer/*R.drawable.abc_ic_ab_back_mtrl_am_alpha*/);
+        }
       }
-    }
-
-    if (stringHasChanged("windowTitle", prev, next)) {
-      if (next.hasKey("windowTitle")) {
-        String windowTitle = next.getString("windowTitle");
-        bar.setWindowTitle(windowTitle);
-      } else {
-        bar.setWindowTitle(null);
+    },
+    LOGO(true, "logo") {
+      @Override
+      void apply(DefaultNavigationImplementation impl, ReconcileTarget target, ScreenConfig next) {
+        if (has(next, "logo", ReadableType.Map)) {
+          target.toolbar.setLogoSource(next.getMap("logo"));
+        }
       }
-    }
-
-    if (firstCall || numberHasChanged("screenColor", prev, next)) {
-      if (next.hasKey("screenColor")) {
-        // this is the screen background color
-        Integer screenColor = next.getInt("screenColor");
-        component.getReactRootView().setBackgroundColor(screenColor);
-      } else {
-        component.getReactRootView().setBackgroundColor(defaults.screenColor);
+    },
+    OVERFLOW_ICON(true, "overflowIcon") {
+      @Override
+      void apply(DefaultNavigationImplementation impl, ReconcileTarget target, ScreenConfig next) {
+        if (has(next, "overflowIcon", ReadableType.Map)) {
+          target.toolbar.setOverflowIconSource(next.getMap("overflowIcon"));
+        }
       }
-    }
+    },
 
-    if (firstCall || numberHasChanged("backgroundColor", prev, next)) {
-      if (next.hasKey("backgroundColor")) {
-        Integer backgroundColor = next.getInt("backgroundColor");
-        toolbar.setBackgroundColor(backgroundColor);
-      } else {
-        toolbar.setBackgroundColor(defaults.backgroundColor);
-      }
-    }
+    // ActionBar only properties...
 
-    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
-      if (firstCall || numberHasChanged("elevation", prev, next)) {
-        if (next.hasKey("elevation")) {
-          Double elevation = next.getDouble("elevation");
-            toolbar.setElevation(elevation.floatValue());
-        } else {
-          toolbar.setElevation(defaults.elevation);
+    HIDDEN(true, "hidden") {
+      @Override
+      void apply(DefaultNavigationImplementation impl, ReconcileTarget target, ScreenConfig next) {
+        if (target.bar == null) {
+          return;
+        }
+        boolean hidden = getBoolean(next, "hidden", false);
+        if (hidden && target.bar.isShowing()) {
+          target.bar.hide();
+        } else if (!hidden && !target.bar.isShowing()) {
+          target.bar.show();
         }
       }
-    }
-
-    if (firstCall || numberHasChanged("alpha", prev, next)) {
-      if (next.hasKey("alpha")) {
-        Double alpha = next.getDouble("alpha");
-        toolbar.setAlpha(alpha.floatValue());
-      } else {
-        toolbar.setAlpha(defaults.alpha);
+    },
+    DISPLAY_HOME_AS_UP(true, "displayHomeAsUp") {
+      @Override
+      void apply(DefaultNavigationImplementation impl, ReconcileTarget target, ScreenConfig next) {
+        if (target.bar != null) {
+          target.bar.setDisplayHomeAsUpEnabled(
+              getBoolean(next, "displayHomeAsUp", impl.defaults.displayHomeAsUp));
+        }
       }
-    }
-
-    if (firstCall || mapHasChanged("navIcon", prev, next)) {
-      if (next.hasKey("navIcon")) {
-        toolbar.setNavIconSource(next.getMap("navIcon"));
-      } else {
-//        toolbar.setNavigationIcon(android.R.drawable.ic_launchaer/*R.drawable.abc_ic_ab_back_mtrl_am_alpha*/);
+    },
+    HOME_BUTTON_ENABLED(true, "homeButtonEnabled") {
+      @Override
+      void apply(DefaultNavigationImplementation impl, ReconcileTarget target, ScreenConfig next) {
+        if (target.bar != null && has(next, "homeButtonEnabled", ReadableType.Boolean)) {
+          target.bar.setHomeButtonEnabled(next.getBoolean("homeButtonEnabled"));
+        }
       }
-    }
-
-    if (firstCall || mapHasChanged("logo", prev, next)) {
-      if (next.hasKey("logo")) {
-        toolbar.setLogoSource(next.getMap("logo"));
-      } else {
-
+    },
+    SHOW_HOME(true, "showHome") {
+      @Override
+      void apply(DefaultNavigationImplementation impl, ReconcileTarget target, ScreenConfig next) {
+        if (target.bar != null) {
+          target.bar.setDisplayShowHomeEnabled(
+              getBoolean(next, "showHome", impl.defaults.showHome));
+        }
       }
-    }
-
-    if (firstCall || mapHasChanged("overflowIcon", prev, next)) {
-      if (next.hasKey("overflowIcon")) {
-        toolbar.setOverflowIconSource(next.getMap("overflowIcon"));
-      } else {
-
+    },
+    SHOW_TITLE(true, "showTitle") {
+      @Override
+      void apply(DefaultNavigationImplementation impl, ReconcileTarget target, ScreenConfig next) {
+        if (target.bar != null) {
+          target.bar.setDisplayShowTitleEnabled(
+              getBoolean(next, "showTitle", impl.defaults.showTitle));
+        }
       }
-    }
-
-    if (bar != null) {
-
-      // ActionBar only properties...
-
-      if (firstCall || boolHasChanged("hidden", prev, next)) {
-        boolean hidden = false;
-
-        if (next.hasKey("hidden")) {
-          hidden = next.getBoolean("hidden");
+    },
+    SHOW_CUSTOM(true, "showCustom") {
+      @Override
+      void apply(DefaultNavigationImplementation impl, ReconcileTarget target, ScreenConfig next) {
+        if (target.bar != null) {
+          target.bar.setDisplayShowCustomEnabled(
+              getBoolean(next, "showCustom", impl.defaults.showCustom));
         }
-
-        if (hidden && bar.isShowing()) {
-          bar.hide();
-        } else if (!hidden && !bar.isShowing()) {
-          bar.show();
+      }
+    },
+    USE_LOGO(true, "useLogo") {
+      @Override
+      void apply(DefaultNavigationImplementation impl, ReconcileTarget target, ScreenConfig next) {
+        if (target.bar != null) {
+          target.bar.setDisplayUseLogoEnabled(getBoolean(next, "useLogo", impl.defaults.useLogo));
         }
       }
-
-      if (firstCall || boolHasChanged("displayHomeAsUp", prev, next)) {
-        if (next.hasKey("displayHomeAsUp")) {
-          boolean displayHomeAsUp = next.getBoolean("displayHomeAsUp");
-          bar.setDisplayHomeAsUpEnabled(displayHomeAsUp);
-        } else {
-          bar.setDisplayHomeAsUpEnabled(defaults.displayHomeAsUp);
+    },
+    USE_SHOW_HIDE_ANIMATION(true, "useShowHideAnimation") {
+      @Override
+      void apply(DefaultNavigationImplementation impl, ReconcileTarget target, ScreenConfig next) {
+        if (target.bar != null) {
+          target.bar.setShowHideAnimationEnabled(
+              getBoolean(next, "useShowHideAnimation", impl.defaults.useShowHideAnimation));
         }
       }
-
-      if (firstCall || boolHasChanged("homeButtonEnabled", prev, next)) {
-        if (next.hasKey("homeButtonEnabled")) {
-          boolean homeButtonEnabled = next.getBoolean("homeButtonEnabled");
-          bar.setHomeButtonEnabled(homeButtonEnabled);
-        } else {
-
+    },
+    HIDE_ON_SCROLL(true, "hideOnScroll") {
+      @Override
+      void apply(DefaultNavigationImplementation impl, ReconcileTarget target, ScreenConfig next) {
+        if (target.bar != null) {
+          target.bar.setHideOnContentScrollEnabled(
+              getBoolean(next, "hideOnScroll", impl.defaults.hideOnScroll));
         }
       }
-
-      if (firstCall || boolHasChanged("showHome", prev, next)) {
-        if (next.hasKey("showHome")) {
-          boolean showHome = next.getBoolean("showHome");
-          bar.setDisplayShowHomeEnabled(showHome);
-        } else {
-          bar.setDisplayShowHomeEnabled(defaults.showHome);
+    },
+    HIDE_OFFSET(true, "hideOffset") {
+      @Override
+      void apply(DefaultNavigationImplementation impl, ReconcileTarget target, ScreenConfig next) {
+        if (target.bar != null) {
+          target.bar.setHideOffset(has(next, "hideOffset", ReadableType.Number)
+              ? next.getInt("hideOffset")
+              : impl.defaults.hideOffset);
         }
       }
-
-      if (firstCall || boolHasChanged("showTitle", prev, next)) {
-        if (next.hasKey("showTitle")) {
-          boolean showTitle = next.getBoolean("showTitle");
-          bar.setDisplayShowTitleEnabled(showTitle);
-        } else {
-          bar.setDisplayShowTitleEnabled(defaults.showTitle);
+    },
+
+    // Status bar properties...
+
+    STATUS_BAR_STYLE(true, "statusBarStyle") {
+      @Override
+      void apply(DefaultNavigationImplementation impl, ReconcileTarget target, ScreenConfig next) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+          View decorView = target.component.getActivity().getWindow().getDecorView();
+          if (has(next, "statusBarStyle", ReadableType.String)) {
+            String style = next.getString("statusBarStyle");
+            decorView.setSystemUiVisibility(
+                style.equals("default") ? View.SYSTEM_UI_FLAG_LIGHT_STATUS_BAR : 0);
+          } else {
+            decorView.setSystemUiVisibility(0);
+          }
         }
       }
-
-      if (firstCall || boolHasChanged("showCustom", prev, next)) {
-        if (next.hasKey("showCustom")) {
-          boolean showCustom = next.getBoolean("showCustom");
-          bar.setDisplayShowCustomEnabled(showCustom);
-        } else {
-          bar.setDisplayShowCustomEnabled(defaults.showCustom);
+    },
+    STATUS_BAR_COLOR(true, "statusBarColor") {
+      @Override
+      void apply(DefaultNavigationImplementation impl, ReconcileTarget target, ScreenConfig next) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+          impl.setStatusBarColor(target.component.getActivity(), next);
         }
       }
-
-      if (firstCall || boolHasChanged("useLogo", prev, next)) {
-        if (next.hasKey("useLogo")) {
-          boolean useLogo = next.getBoolean("useLogo");
-          bar.setDisplayUseLogoEnabled(useLogo);
-        } else {
-          bar.setDisplayUseLogoEnabled(defaults.useLogo);
+    },
+    STATUS_BAR_TRANSLUCENT(true, "statusBarTranslucent") {
+      @Override
+      void apply(DefaultNavigationImplementation impl, ReconcileTarget target, ScreenConfig next) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+          setStatusBarTranslucent(target.component.getActivity(),
+              getBoolean(next, "statusBarTranslucent", impl.defaults.statusBarTranslucent));
         }
       }
-
-      if (firstCall || boolHasChanged("useShowHideAnimation", prev, next)) {
-        if (next.hasKey("useShowHideAnimation")) {
-          boolean useShowHideAnimation = next.getBoolean("useShowHideAnimation");
-          bar.setShowHideAnimationEnabled(useShowHideAnimation);
+    },
+    STATUS_BAR_HIDDEN(true, "statusBarHidden") {
+      @Override
+      void apply(DefaultNavigationImplementation impl, ReconcileTarget target, ScreenConfig next) {
+        Window window = target.component.getActivity().getWindow();
+        if (getBoolean(next, "statusBarHidden", false)) {
+          window.addFlags(WindowManager.LayoutParams.FLAG_FULLSCREEN);
+          window.clearFlags(WindowManager.LayoutParams.FLAG_FORCE_NOT_FULLSCREEN);
         } else {
-          bar.setShowHideAnimationEnabled(defaults.useShowHideAnimation);
+          window.addFlags(WindowManager.LayoutParams.FLAG_FORCE_NOT_FULLSCREEN);
+          window.clearFlags(WindowManager.LayoutParams.FLAG_FULLSCREEN);
         }
       }
+    };
 
-      if (firstCall || boolHasChanged("hideOnScroll", prev, next)) {
-        if (next.hasKey("hideOnScroll")) {
-          boolean hideOnScroll = next.getBoolean("hideOnScroll");
-          bar.setHideOnContentScrollEnabled(hideOnScroll);
-        } else {
-          bar.setHideOnContentScrollEnabled(defaults.hideOnScroll);
+    final boolean applyOnFirstCall;
+    final String[] keys;
+
+    NavigationProperty(boolean applyOnFirstCall, String... keys) {
+      this.applyOnFirstCall = applyOnFirstCall;
+      this.keys = keys;
+    }
+
+    abstract void apply(
+        DefaultNavigationImplementation impl,
+        ReconcileTarget target,
+        ScreenConfig next
+    );
+  }
+
+  /** The config keys that {@link #prepareOptionsMenu} reads. */
+  private static final String[] MENU_KEYS = { "rightButtons", "rightTitle", "rightImage" };
+
+  /** Maps each config key to the properties that have to be re-applied when it changes. */
+  private static final Map<String, List<NavigationProperty>> PROPERTIES_BY_KEY =
+      indexPropertiesByKey();
+
+  private static Map<String, List<NavigationProperty>> indexPropertiesByKey() {
+    Map<String, List<NavigationProperty>> result = new HashMap<>();
+    for (NavigationProperty property : NavigationProperty.values()) {
+      for (String key : property.keys) {
+        List<NavigationProperty> properties = result.get(key);
+        if (properties == null) {
+          properties = new ArrayList<>(1);
+          result.put(key, properties);
         }
+        properties.add(property);
       }
+    }
+    return result;
+  }
 
-      if (firstCall || numberHasChanged("hideOffset", prev, next)) {
-        if (next.hasKey("hideOffset")) {
-          int hideOffset = next.getInt("hideOffset");
-          bar.setHideOffset(hideOffset);
-        } else {
-          bar.setHideOffset(defaults.hideOffset);
+  // NOTE(lmr):
+  // The problem we have now is that we don't know when a "default" is different
+  // than the system default, so those properties start off out of sync...
+  public void reconcileNavigationProperties(
+      ReactInterface component,
+      ReactToolbar toolbar,
+      ActionBar bar,
+      ScreenConfig prev,
+      ScreenConfig next,
+      boolean firstCall
+  ) {
+    Log.d(TAG, "reconcileNavigationProperties");
+
+    EnumSet<NavigationProperty> properties = EnumSet.noneOf(NavigationProperty.class);
+    if (firstCall) {
+      for (NavigationProperty property : NavigationProperty.values()) {
+        if (property.applyOnFirstCall) {
+          properties.add(property);
         }
       }
     }
+    for (String key : next.changedKeys(prev)) {
+      List<NavigationProperty> changed = PROPERTIES_BY_KEY.get(key);
+      if (changed != null) {
+        properties.addAll(changed);
+      }
+    }
 
-    reconcileStatusBarStyle(
-      component.getActivity(),
-      prev,
-      next,
-      firstCall
-    );
+    ReconcileTarget target = new ReconcileTarget(component, toolbar, bar);
+    for (NavigationProperty property : properties) {
+      property.apply(this, target, next);
+    }
 
     // TODO(lmr): this doesnt appear to work like i think it should.
 //    if (firstCall || stringHasChanged("textAlign", prev, next)) {
@@ -492,9 +482,97 @@ public class DefaultNavigationImplementation implements NavigationImplementation
 //    toolbar.setBackgroundTintMode(PorterDuff.Mode.CLEAR);
 //    toolbar.setForegroundTintMode(PorterDuff.Mode.DARKEN);
 
-    // we are just going to *always* invalidate this menu when we
-    // reconcile, and handle everything in `prepareOptionsMenu`.
-    component.getActivity().supportInvalidateOptionsMenu();
+    // The menu is handled in `prepareOptionsMenu`, so we only touch it when something it reads has
+    // changed. Invalidating it makes AppCompat clear the menu and create it from scratch, so once
+    // it exists we update its items in place instead.
+    if (firstCall) {
+      component.getActivity().supportInvalidateOptionsMenu();
+    } else if (menuHasChanged(prev, next)) {
+      Menu menu = toolbar.getOptionsMenu();
+      if (menu != null) {
+        prepareOptionsMenu(component, toolbar, bar, menu, prev, next);
+      } else {
+        component.getActivity().supportInvalidateOptionsMenu();
+      }
+    }
+  }
+
+  private static boolean menuHasChanged(ScreenConfig prev, ScreenConfig next) {
+    for (String key : MENU_KEYS) {
+      if (next.hasChanged(key, prev)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private int getForegroundColor(ScreenConfig config) {
+    return has(config, "foregroundColor", ReadableType.Number)
+        ? config.getInt("foregroundColor")
+        : defaults.foregroundColor;
+  }
+
+  @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+  private void setStatusBarColor(final Activity activity, ScreenConfig next) {
+    boolean animated = false;
+    if (has(next, "statusBarAnimation", ReadableType.String)) {
+      animated = !("none".equals(next.getString("statusBarAnimation")));
+    }
+
+    Integer color = defaults.statusBarColor;
+    if (has(next, "statusBarColor", ReadableType.Number)) {
+      color = next.getInt("statusBarColor");
+    }
+
+    if (animated) {
+      int curColor = activity.getWindow().getStatusBarColor();
+      ValueAnimator colorAnimation = ValueAnimator.ofObject(
+          new ArgbEvaluator(), curColor, color);
+
+      colorAnimation.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+        @Override
+        public void onAnimationUpdate(ValueAnimator animator) {
+          activity.getWindow().setStatusBarColor((Integer) animator.getAnimatedValue());
+        }
+      });
+      colorAnimation
+          .setDuration(300)
+          .setStartDelay(0);
+      colorAnimation.start();
+    } else {
+      activity.getWindow().setStatusBarColor(color);
+    }
+  }
+
+  @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+  private static void setStatusBarTranslucent(Activity activity, boolean translucent) {
+    View decorView = activity.getWindow().getDecorView();
+    // If the status bar is translucent hook into the window insets calculations
+    // and consume all the top insets so no padding will be added under the status bar.
+    if (translucent) {
+      decorView.setOnApplyWindowInsetsListener(new View.OnApplyWindowInsetsListener() {
+        @Override
+        public WindowInsets onApplyWindowInsets(View v, WindowInsets insets) {
+          WindowInsets defaultInsets = v.onApplyWindowInsets(insets);
+          return defaultInsets.replaceSystemWindowInsets(
+              defaultInsets.getSystemWindowInsetLeft(),
+              0,
+              defaultInsets.getSystemWindowInsetRight(),
+              defaultInsets.getSystemWindowInsetBottom());
+        }
+      });
+    } else {
+      decorView.setOnApplyWindowInsetsListener(null);
+    }
+    ViewCompat.requestApplyInsets(decorView);
+  }
+
+  private static boolean has(ScreenConfig config, String key, ReadableType type) {
+    return config.has(key, type);
+  }
+
+  private static boolean getBoolean(ScreenConfig config, String key, boolean defaultValue) {
+    return has(config, key, ReadableType.Boolean) ? config.getBoolean(key) : defaultValue;
   }
 
   public void prepareOptionsMenu(
@@ -502,35 +580,23 @@ public class DefaultNavigationImplementation implements NavigationImplementation
       ReactToolbar toolbar,
       ActionBar bar,
       Menu menu,
-      ReadableMap prev,
-      ReadableMap next
+      ScreenConfig prev,
+      ScreenConfig next
   ) {
     Log.d(TAG, "prepareOptionsMenu");
 
-    if (arrayHasChanged("rightButtons", prev, next)) {
-      if (next.hasKey("rightButtons")) {
-        ReadableArray buttons = next.getArray("rightButtons");
-        menu.clear();
-        toolbar.setRightButtons(menu, buttons, component);
-      } else {
-        menu.clear();
-      }
-    }
-    if (stringHasChanged("rightTitle", prev, next)) {
-      if (next.hasKey("rightTitle")) {
-        String rightTitle = next.getString("rightTitle");
-        MenuItem item = menu.add(rightTitle);
-        item.setShowAsAction(MenuItem.SHOW_AS_ACTION_IF_ROOM);
-        item.setOnMenuItemClickListener(new MenuItem.OnMenuItemClickListener() {
-          @Override
-          public boolean onMenuItemClick(MenuItem item) {
-            component.emitEvent("onRightPress", null);
-            return true;
-          }
-        });
-      }
-    }
-    if (mapHasChanged("rightImage", prev, next)) {
+    // The toolbar remembers the items it added to the menu, and only updates the ones that changed.
+    toolbar.setRightButtons(
+        menu,
+        has(next, "rightButtons", ReadableType.Array)
+            ? next.getList("rightButtons")
+            : Collections.emptyList(),
+        component);
+    toolbar.setRightTitle(
+        menu,
+        has(next, "rightTitle", ReadableType.String) ? next.getString("rightTitle") : null,
+        component);
+    if (next.hasChanged("rightImage", prev)) {
       // TODO(lmr):
     }
   }
@@ -540,7 +606,7 @@ public class DefaultNavigationImplementation implements NavigationImplementation
       ReactToolbar toolbar,
       ActionBar bar,
       MenuItem item,
-      ReadableMap properties
+      ScreenConfig properties
   ) {
     // TODO(lmr): we need to make this possible somehow
 //    if (item.getItemId() == android.R.id.home) {
@@ -581,23 +647,41 @@ public class DefaultNavigationImplementation implements NavigationImplementation
         config.getString("title")
     );
 
-    if (config.hasKey("image")) {
-      bottomNavigation.setMenuItemIcon(item, config.getMap("image"));
-    } else {
+    if (!config.hasKey("image")) {
       // TODO(lmr): this probably isn't the best default.
       item.setIcon(android.R.drawable.btn_radio);
     }
 
-    if (config.hasKey("enabled")) {
-      boolean enabled = config.getBoolean("enabled");
-      item.setEnabled(enabled);
-    }
+    reconcileTabItem(bottomNavigation, item, ConversionUtil.EMPTY_MAP, config);
 
     // not sure if we want/need to set anything on the itemview itself. hacky.
 //    BottomNavigationMenuView menuView = (BottomNavigationMenuView) bottomNavigation.getChildAt(0);
 //    BottomNavigationItemView itemView = (BottomNavigationItemView)menuView.getChildAt(index);
   }
 
+  public void reconcileTabItem(
+      ReactBottomNavigation bottomNavigation,
+      MenuItem item,
+      ReadableMap prev,
+      ReadableMap next
+  ) {
+    if (stringHasChanged("title", prev, next)) {
+      item.setTitle(next.hasKey("title") ? next.getString("title") : null);
+    }
+
+    if (mapHasChanged("image", prev, next)) {
+      if (next.hasKey("image")) {
+        bottomNavigation.setMenuItemIcon(item, next.getMap("image"));
+      } else {
+        item.setIcon(android.R.drawable.btn_radio);
+      }
+    }
+
+    if (boolHasChanged("enabled", prev, next)) {
+      item.setEnabled(!next.hasKey("enabled") || next.getBoolean("enabled"));
+    }
+  }
+
   private static ColorStateList colorStatesFromPrefix(String prefix, ReadableMap props, int defaultColor) {
 
     String active = String.format("%sActiveColor", prefix);
@@ -751,7 +835,7 @@ public class DefaultNavigationImplementation implements NavigationImplementation
     }
 
     return next.hasKey(key) != prev.hasKey(key) ||
-        !mapEqual(next.getMap(key), prev.getMap(key));
+        !ConfigDiff.mapEqual(next.getMap(key), prev.getMap(key));
   }
 
   private static boolean arrayHasChanged(
@@ -765,75 +849,6 @@ public class DefaultNavigationImplementation implements NavigationImplementation
     }
 
     return next.hasKey(key) != prev.hasKey(key) ||
-        !arrayEqual(next.getArray(key), prev.getArray(key));
-  }
-
-  private static boolean mapEqual(
-      ReadableMap a,
-      ReadableMap b
-  ) {
-    ReadableMapKeySetIterator iterator = b.keySetIterator();
-    while (iterator.hasNextKey()) {
-      String key = iterator.nextKey();
-      if (!a.hasKey(key)) return false;
-      ReadableType type = b.getType(key);
-      if (type != a.getType(key)) return false;
-      switch (type) {
-        case Null:
-          break;
-        case Boolean:
-          if (a.getBoolean(key) != b.getBoolean(key)) return false;
-          break;
-        case Number:
-          if (a.getDouble(key) != b.getDouble(key)) return false;
-          break;
-        case String:
-          if (!a.getString(key).equals(b.getString(key))) return false;
-          break;
-        case Map:
-          if (!mapEqual(a.getMap(key), b.getMap(key))) return false;
-          break;
-        case Array:
-          if (!arrayEqual(a.getArray(key), b.getArray(key))) return false;
-          break;
-        default:
-          Log.e(TAG, "Could not convert object with key: " + key + ".");
-      }
-    }
-    return true;
-  }
-
-  private static boolean arrayEqual(
-      ReadableArray a,
-      ReadableArray b
-  ) {
-    if (b.size() != a.size()) return false;
-
-    for (int i = 0; i < a.size(); i++) {
-      ReadableType type = a.getType(i);
-      if (type != b.getType(i)) return false;
-      switch (type) {
-        case Null:
-          break;
-        case Boolean:
-          if (b.getBoolean(i) != a.getBoolean(i)) return false;
-          break;
-        case Number:
-          if (b.getDouble(i) != a.getDouble(i)) return false;
-          break;
-        case String:
-          if (!b.getString(i).equals(a.getString(i))) return false;
-          break;
-        case Map:
-          if (!mapEqual(a.getMap(i), b.getMap(i))) return false;
-          break;
-        case Array:
-          if (!arrayEqual(a.getArray(i), b.getArray(i))) return false;
-          break;
-        default:
-          Log.e(TAG, "Could not compare object with index: " + i + ".");
-      }
-    }
-    return true;
+        !ConfigDiff.arrayEqual(next.getArray(key), prev.getArray(key));
   }
 }
@@ -0,0 +1,115 @@
+package com.airbnb.android.react.navigation;
+
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
+
+import com.facebook.react.ReactRootView;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Watches a {@link ReactRootView} and calls back on the first pre-draw pass where it actually has
+ * laid out content, which lets a screen start its postponed enter transition without waiting for
+ * JS to signal it or for the render timeout to fire.
+ *
+ * It also keeps process-wide counts of how the first render of each screen was detected, so that
+ * the number of screens falling back on the timeout can be tracked.
+ */
+public final class FirstRenderDetector implements ViewTreeObserver.OnPreDrawListener {
+  interface Callback {
+    void onFirstLayout();
+  }
+
+  enum Source {
+    /** Content was found in the view hierarchy. */
+    LAYOUT,
+    /** JS called {@code signalFirstRenderComplete}. */
+    SIGNAL,
+    /** Neither happened before the render timeout. */
+    TIMEOUT
+  }
+
+  private static final AtomicInteger layoutCount = new AtomicInteger();
+  private static final AtomicInteger signalCount = new AtomicInteger();
+  private static final AtomicInteger timeoutCount = new AtomicInteger();
+
+  private final ReactRootView reactRootView;
+  private final Callback callback;
+  private ViewTreeObserver viewTreeObserver;
+
+  FirstRenderDetector(ReactRootView reactRootView, Callback callback) {
+    this.reactRootView = reactRootView;
+    this.callback = callback;
+  }
+
+  void start() {
+    viewTreeObserver = reactRootView.getViewTreeObserver();
+    viewTreeObserver.addOnPreDrawListener(this);
+  }
+
+  void stop() {
+    if (viewTreeObserver == null) {
+      return;
+    }
+    // The observer we registered with may have been merged into the window's observer when the
+    // view was attached, so remove ourselves from whichever one is alive.
+    if (viewTreeObserver.isAlive()) {
+      viewTreeObserver.removeOnPreDrawListener(this);
+    }
+    ViewTreeObserver current = reactRootView.getViewTreeObserver();
+    if (current != viewTreeObserver && current.isAlive()) {
+      current.removeOnPreDrawListener(this);
+    }
+    viewTreeObserver = null;
+  }
+
+  @Override
+  public boolean onPreDraw() {
+    if (hasContent(reactRootView)) {
+      stop();
+      callback.onFirstLayout();
+    }
+    return true;
+  }
+
+  private static boolean hasContent(ViewGroup rootView) {
+    if (rootView.getChildCount() == 0) {
+      return false;
+    }
+    View content = rootView.getChildAt(0);
+    if (content.getWidth() == 0 || content.getHeight() == 0) {
+      return false;
+    }
+    return !(content instanceof ViewGroup) || ((ViewGroup) content).getChildCount() > 0;
+  }
+
+  static void record(Source source) {
+    switch (source) {
+      case LAYOUT:
+        layoutCount.incrementAndGet();
+        break;
+      case SIGNAL:
+        signalCount.incrementAndGet();
+        break;
+      case TIMEOUT:
+        timeoutCount.incrementAndGet();
+        break;
+    }
+  }
+
+  /** Number of screens whose transition was started by detecting their first layout. */
+  public static int getLayoutCount() {
+    return layoutCount.get();
+  }
+
+  /** Number of screens whose transition was started by JS signaling its first render. */
+  public static int getSignalCount() {
+    return signalCount.get();
+  }
+
+  /** Number of screens whose transition was only started by the render timeout. */
+  public static int getTimeoutCount() {
+    return timeoutCount.get();
+  }
+}
@@ -0,0 +1,141 @@
+package com.airbnb.android.react.navigation;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.Nullable;
+import android.support.v4.util.LruCache;
+import android.util.Log;
+
+import com.facebook.imagepipeline.image.CloseableBitmap;
+import com.facebook.imagepipeline.image.ImageInfo;
+import com.facebook.imagepipeline.image.QualityInfo;
+import com.facebook.react.views.toolbar.DrawableWithIntrinsicSize;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Remembers the icons that {@link ReactToolbar} and {@link ReactBottomNavigation} have resolved,
+ * so that the same back button or tab icon doesn't get looked up or fetched again for every
+ * screen that shows it.
+ *
+ * Remote icons are kept as small copies of the bitmaps Fresco decoded for them, keyed by uri and
+ * requested size, and are dropped when the system asks us to trim memory. Local icons are already
+ * cached by {@link Resources}, so for those we only remember the resource id each name maps to,
+ * which is otherwise looked up reflectively every time.
+ *
+ * All methods must be called on the main thread.
+ */
+final class IconCache implements ComponentCallbacks2 {
+  private static final String TAG = IconCache.class.getSimpleName();
+  private static final int MAX_SIZE_IN_BYTES = 2 * 1024 * 1024;
+
+  private final Map<String /* drawable name */, Integer> resourceIds = new HashMap<>();
+  private final LruCache<String /* uri and size */, Bitmap> bitmaps =
+      new LruCache<String, Bitmap>(MAX_SIZE_IN_BYTES) {
+        @Override
+        protected int sizeOf(String key, Bitmap bitmap) {
+          return bitmap.getByteCount();
+        }
+      };
+
+  static String keyFor(String uri, @Nullable ImageInfo size) {
+    return size == null ? uri : uri + "@" + size.getWidth() + "x" + size.getHeight();
+  }
+
+  /** Returns the id of the drawable resource called {@code name}, or 0 if there is none. */
+  int getDrawableResourceId(Context context, String name) {
+    Integer id = resourceIds.get(name);
+    if (id == null) {
+      id = context.getResources().getIdentifier(name, "drawable", context.getPackageName());
+      resourceIds.put(name, id);
+    }
+    return id;
+  }
+
+  /**
+   * Returns a new drawable for the icon cached under {@code key}, or null if there isn't one. The
+   * drawable has the requested {@code size} if there is one, and the size of the image otherwise.
+   */
+  @Nullable
+  Drawable getDrawable(Resources resources, String key, @Nullable ImageInfo size) {
+    Bitmap bitmap = bitmaps.get(key);
+    if (bitmap == null) {
+      return null;
+    }
+    ImageInfo info = size != null ? size : new BitmapSize(bitmap.getWidth(), bitmap.getHeight());
+    return new DrawableWithIntrinsicSize(new BitmapDrawable(resources, bitmap), info);
+  }
+
+  /**
+   * Keeps a copy of the image Fresco loaded for {@code key}. Fresco owns (and may reuse) the
+   * bitmap it hands to its listeners, so we can't hold on to that one.
+   */
+  void put(String key, ImageInfo image) {
+    if (!(image instanceof CloseableBitmap) || bitmaps.get(key) != null) {
+      return;
+    }
+    Bitmap bitmap = ((CloseableBitmap) image).getUnderlyingBitmap();
+    if (bitmap == null || bitmap.isRecycled()) {
+      return;
+    }
+    Bitmap copy = bitmap.copy(
+        bitmap.getConfig() != null ? bitmap.getConfig() : Bitmap.Config.ARGB_8888, false);
+    if (copy != null) {
+      bitmaps.put(key, copy);
+    }
+  }
+
+  void clear() {
+    bitmaps.evictAll();
+  }
+
+  @Override
+  public void onTrimMemory(int level) {
+    if (level >= TRIM_MEMORY_MODERATE || level == TRIM_MEMORY_RUNNING_CRITICAL) {
+      Log.d(TAG, "onTrimMemory: " + level);
+      clear();
+    } else if (level >= TRIM_MEMORY_RUNNING_LOW) {
+      bitmaps.trimToSize(MAX_SIZE_IN_BYTES / 2);
+    }
+  }
+
+  @Override
+  public void onLowMemory() {
+    clear();
+  }
+
+  @Override
+  public void onConfigurationChanged(Configuration newConfig) {
+  }
+
+  private static class BitmapSize implements ImageInfo {
+    private final int width;
+    private final int height;
+
+    BitmapSize(int width, int height) {
+      this.width = width;
+      this.height = height;
+    }
+
+    @Override
+    public int getWidth() {
+      return width;
+    }
+
+    @Override
+    public int getHeight() {
+      return height;
+    }
+
+    @Override
+    public QualityInfo getQualityInfo() {
+      return null;
+    }
+  }
+}
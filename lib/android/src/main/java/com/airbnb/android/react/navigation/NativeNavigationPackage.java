@@ -24,7 +24,7 @@ public class NativeNavigationPackage implements ReactPackage {
   @SuppressWarnings("rawtypes") @Override
   public List<ViewManager> createViewManagers(ReactApplicationContext reactContext) {
     return Arrays.<ViewManager>asList(
-        new SharedElementGroupManager(),
+        new SharedElementGroupManager(ReactNavigationCoordinator.sharedInstance),
         new SharedElementViewManager(ReactNavigationCoordinator.sharedInstance),
         new TabBarViewManager(),
         new TabViewManager()
@@ -0,0 +1,93 @@
+package com.airbnb.android.react.navigation;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.Nullable;
+import android.view.Choreographer;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Collects the navigation commands JS sends over the bridge and runs them together on the main
+ * thread, at most once per frame.
+ *
+ * Running a burst like {@code pop(); pop(); push(x)} in one go means every fragment transaction it
+ * commits is executed in the same pass of the fragment manager. Since all of our transactions allow
+ * optimization, the fragment manager then treats them as one: only the screens that end up visible
+ * are moved through their lifecycle, and the intermediate ones are never created or animated.
+ * Commands with the same coalescing key (such as repeated {@code setScreenProperties} calls for the
+ * same screen) replace each other while they are queued, so only the latest one runs.
+ *
+ * {@link #enqueue(Command)} can be called from any thread.
+ */
+final class NavigationCommandQueue implements Choreographer.FrameCallback {
+  abstract static class Command {
+    /**
+     * Returns a key identifying what this command acts on. A queued command is dropped when a
+     * command with the same key is enqueued after it.
+     */
+    @Nullable
+    String getCoalescingKey() {
+      return null;
+    }
+
+    /**
+     * Called on the enqueuing thread when this command is dropped in favor of a newer one with the
+     * same coalescing key.
+     */
+    void onDropped() {
+    }
+
+    abstract void execute();
+  }
+
+  private final Handler handler = new Handler(Looper.getMainLooper());
+  private final Runnable scheduleFrameRunnable = new Runnable() {
+    @Override
+    public void run() {
+      // The Choreographer is per-looper, so it has to be looked up on the main thread.
+      Choreographer.getInstance().postFrameCallback(NavigationCommandQueue.this);
+    }
+  };
+
+  // Guarded by this
+  private final List<Command> pendingCommands = new ArrayList<>();
+  private boolean isFrameScheduled = false;
+
+  void enqueue(Command command) {
+    synchronized (this) {
+      String key = command.getCoalescingKey();
+      if (key != null) {
+        Iterator<Command> iterator = pendingCommands.iterator();
+        while (iterator.hasNext()) {
+          Command pending = iterator.next();
+          if (key.equals(pending.getCoalescingKey())) {
+            iterator.remove();
+            pending.onDropped();
+          }
+        }
+      }
+      pendingCommands.add(command);
+      if (isFrameScheduled) {
+        return;
+      }
+      isFrameScheduled = true;
+    }
+    handler.post(scheduleFrameRunnable);
+  }
+
+  @Override
+  public void doFrame(long frameTimeNanos) {
+    List<Command> commands;
+    synchronized (this) {
+      commands = new ArrayList<>(pendingCommands);
+      pendingCommands.clear();
+      isFrameScheduled = false;
+    }
+    for (Command command : commands) {
+      command.execute();
+    }
+  }
+}
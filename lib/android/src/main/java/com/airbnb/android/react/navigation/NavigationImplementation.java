@@ -10,8 +10,8 @@ interface NavigationImplementation {
       ReactInterface component,
       ReactToolbar toolbar,
       ActionBar bar,
-      ReadableMap previous,
-      ReadableMap next,
+      ScreenConfig previous,
+      ScreenConfig next,
       boolean firstCall
   );
 
@@ -20,8 +20,8 @@ interface NavigationImplementation {
       ReactToolbar toolbar,
       ActionBar bar,
       Menu menu,
-      ReadableMap previous,
-      ReadableMap next
+      ScreenConfig previous,
+      ScreenConfig next
   );
 
   boolean onOptionsItemSelected(
@@ -29,14 +29,14 @@ interface NavigationImplementation {
       ReactToolbar toolbar,
       ActionBar bar,
       MenuItem item,
-      ReadableMap config
+      ScreenConfig config
   );
 
   float getBarHeight(
       ReactInterface component,
       ReactToolbar toolbar,
       ActionBar actionBar,
-      ReadableMap config,
+      ScreenConfig config,
       boolean firstCall
   );
 
@@ -48,6 +48,17 @@ interface NavigationImplementation {
       ReadableMap config
   );
 
+  /**
+   * Updates an item made with {@link #makeTabItem} from the {@code prev} config of its tab to the
+   * {@code next} one, in place.
+   */
+  void reconcileTabItem(
+      ReactBottomNavigation bottomNavigation,
+      MenuItem item,
+      ReadableMap prev,
+      ReadableMap next
+  );
+
   void reconcileTabBarProperties(
       ReactBottomNavigation bottomNavigation,
       Menu menu,
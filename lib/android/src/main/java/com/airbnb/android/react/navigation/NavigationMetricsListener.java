@@ -0,0 +1,42 @@
+package com.airbnb.android.react.navigation;
+
+/**
+ * Receives timing events for each React screen navigation, so that apps can track how long pushes,
+ * presents and their transitions take. Register one with
+ * {@link ReactNavigationCoordinator#addNavigationMetricsListener(NavigationMetricsListener)}.
+ *
+ * Events are keyed by the screen's {@code instanceId}, and timestamps come from
+ * {@link android.os.SystemClock#uptimeMillis()}, so they can be subtracted from each other but
+ * should not be compared to wall clock time. Listeners are always called on the main thread. For
+ * {@link Event#BRIDGE_CALL_RECEIVED}, that happens along with {@link Event#MAIN_THREAD_DISPATCH}
+ * (once the screen has an instance id), but its timestamp is from when the call arrived on the
+ * native modules thread.
+ */
+public interface NavigationMetricsListener {
+  enum Event {
+    /** {@code push} or {@code present} was called from JS. */
+    BRIDGE_CALL_RECEIVED,
+    /** The navigation call started running on the main thread. */
+    MAIN_THREAD_DISPATCH,
+    /** The fragment transaction for the screen was committed. */
+    FRAGMENT_COMMITTED,
+    /** The screen's fragment created its view. */
+    VIEW_CREATED,
+    /** The screen's React application was started (or a pre-mounted one was adopted). */
+    REACT_MOUNT_STARTED,
+    /** The screen's root view laid out its first content. */
+    FIRST_LAYOUT,
+    /** JS signaled that the screen rendered for the first time. */
+    FIRST_RENDER_SIGNALED,
+    /** Neither of the above happened before the screen's render timeout. */
+    RENDER_TIMED_OUT,
+    /** The postponed enter transition was started. */
+    TRANSITION_STARTED,
+    /** The enter animation finished. */
+    TRANSITION_ENDED,
+    /** The screen's React application was unmounted. */
+    UNMOUNTED
+  }
+
+  void onNavigationEvent(Event event, String instanceId, String screenName, long uptimeMillis);
+}
@@ -2,8 +2,8 @@ package com.airbnb.android.react.navigation;
 
 import android.app.Activity;
 import android.content.Intent;
-import android.os.Handler;
-import android.os.Looper;
+import android.os.Bundle;
+import android.os.SystemClock;
 import android.support.annotation.Nullable;
 
 import com.facebook.react.bridge.Promise;
@@ -26,7 +26,7 @@ class NavigatorModule extends ReactContextBaseJavaModule {
 
   private static final String CLOSE_BEHAVIOR_DISMISS = "dismiss";
   private static final String RESULT_CODE = "resultCode";
-  private final Handler handler = new Handler(Looper.getMainLooper());
+  private final NavigationCommandQueue commandQueue = new NavigationCommandQueue();
   private final ReactNavigationCoordinator coordinator;
 
   NavigatorModule(ReactApplicationContext reactContext, ReactNavigationCoordinator coordinator) {
@@ -63,45 +63,93 @@ class NavigatorModule extends ReactContextBaseJavaModule {
 
   @SuppressWarnings("unused")
   @ReactMethod
-  public void setScreenProperties(final ReadableMap properties, final String instanceId) {
-//    final Map<String, Object> props = payloadToMap(properties);
-    withToolbar(instanceId, new NavigationModifier() {
+  public void setScreenProperties(ReadableMap properties, final String instanceId) {
+    // Snapshot the config here on the bridge thread, so reconciling it doesn't have to read it back
+    // through JNI on the main thread.
+    final ScreenConfig config = ScreenConfig.fromMap(properties);
+    commandQueue.enqueue(new NavigationCommandQueue.Command() {
       @Override
-      public void call(ReactInterface component, ReactToolbar toolbar) {
-        component.receiveNavigationProperties(properties);
+      String getCoalescingKey() {
+        // Every call carries the screen's whole config, so only the latest one matters.
+        return "setScreenProperties:" + instanceId;
+      }
+
+      @Override
+      void onDropped() {
+        coordinator.recordDroppedScreenPropertiesUpdate();
+      }
+
+      @Override
+      void execute() {
+        ReactInterface component = coordinator.componentFromId(instanceId);
+        if (component == null) {
+          // The screen may have been mounted ahead of time, in which case its fragment picks the
+          // config up when it adopts the view.
+          coordinator.getReactRootViewPool().setPendingConfig(instanceId, config);
+        } else if (component.getToolbar() != null) {
+          component.receiveNavigationProperties(config);
+        }
       }
     });
   }
 
   @SuppressWarnings({"UnusedParameters", "unused"})
   @ReactMethod
-  public void signalFirstRenderComplete(String id) {
-    final ReactInterface component = coordinator.componentFromId(id);
-    if (component != null) {
-      handler.post(new Runnable() {
-        @Override public void run() {
+  public void signalFirstRenderComplete(final String id) {
+    commandQueue.enqueue(new NavigationCommandQueue.Command() {
+      @Override
+      void execute() {
+        ReactInterface component = coordinator.componentFromId(id);
+        if (component != null) {
           component.signalFirstRenderComplete();
         }
-      });
-    }
+      }
+    });
   }
 
   @SuppressWarnings("UnusedParameters")
   @ReactMethod
   public void push(final String screenName, final ReadableMap props,
       final ReadableMap options) {
-    handler.post(new Runnable() {
+    final long receivedAt = SystemClock.uptimeMillis();
+    final String propsHandle = PropsStore.getHandle(props);
+    final Bundle propsBundle = propsHandle == null ? ConversionUtil.toBundle(props) : null;
+    final Bundle spilledProps = coordinator.getPropsSpillStore().spill(propsBundle);
+    final Bundle optionsBundle = ConversionUtil.toBundle(options);
+    commandQueue.enqueue(new NavigationCommandQueue.Command() {
       @Override
-      public void run() {
+      void execute() {
         Activity activity = getCurrentActivity();
         if (activity == null) {
+          releasePropsHandle(propsHandle);
           return;
         }
         ensureCoordinatorComponent(activity);
+        ReactNativeFragment fragment =
+            newFragment(screenName, props, propsHandle, propsBundle, spilledProps);
+        reportDispatch(fragment, screenName, receivedAt);
         ((ScreenCoordinatorComponent) activity).getScreenCoordinator().pushScreen(
+            fragment,
+            optionsBundle);
+      }
+    });
+  }
+
+  @SuppressWarnings("unused")
+  @ReactMethod
+  public void preload(final String screenName, final ReadableMap props) {
+    final Bundle propsBundle = ConversionUtil.toBundle(props);
+    commandQueue.enqueue(new NavigationCommandQueue.Command() {
+      @Override
+      void execute() {
+        Activity activity = getCurrentActivity();
+        if (activity == null) {
+          return;
+        }
+        ensureCoordinatorComponent(activity);
+        ((ScreenCoordinatorComponent) activity).getScreenCoordinator().preloadScreen(
             screenName,
-            ConversionUtil.toBundle(props),
-            ConversionUtil.toBundle(options));
+            propsBundle);
       }
     });
   }
@@ -120,23 +168,59 @@ class NavigatorModule extends ReactContextBaseJavaModule {
   @SuppressWarnings("UnusedParameters")
   @ReactMethod
   public void present(final String screenName, final ReadableMap props, final ReadableMap options, final Promise promise) {
-    handler.post(new Runnable() {
+    final long receivedAt = SystemClock.uptimeMillis();
+    final String propsHandle = PropsStore.getHandle(props);
+    final Bundle propsBundle = propsHandle == null ? ConversionUtil.toBundle(props) : null;
+    final Bundle spilledProps = coordinator.getPropsSpillStore().spill(propsBundle);
+    commandQueue.enqueue(new NavigationCommandQueue.Command() {
       @Override
-      public void run() {
+      void execute() {
         Activity activity = getCurrentActivity();
         if (activity == null) {
+          releasePropsHandle(propsHandle);
           return;
         }
         ensureCoordinatorComponent(activity);
-          ((ScreenCoordinatorComponent) activity).getScreenCoordinator().presentScreen(
-            screenName,
-            ConversionUtil.toBundle(props),
-            ConversionUtil.toBundle(options),
+        // TODO: use options
+        ReactNativeFragment fragment =
+            newFragment(screenName, props, propsHandle, propsBundle, spilledProps);
+        reportDispatch(fragment, screenName, receivedAt);
+        ((ScreenCoordinatorComponent) activity).getScreenCoordinator().presentScreen(
+            fragment,
+            ScreenCoordinator.PresentAnimation.Modal,
             promise);
       }
     });
   }
 
+  /**
+   * Props are converted and spilled (if they need to be at all) on the native modules thread before
+   * the navigation is posted, so that the main thread only has to create the fragment and commit it.
+   */
+  private static ReactNativeFragment newFragment(String screenName, ReadableMap props,
+      @Nullable String propsHandle, @Nullable Bundle propsBundle, @Nullable Bundle spilledProps) {
+    return propsHandle != null
+        ? ReactNativeFragment.newInstance(screenName, props, propsHandle)
+        : ReactNativeFragment.newInstance(screenName, propsBundle, spilledProps);
+  }
+
+  /** Lets JS drop the props it is holding for a screen that won't be created after all. */
+  private void releasePropsHandle(@Nullable String propsHandle) {
+    if (propsHandle != null) {
+      PropsStore.releaseHandle(getReactApplicationContext(), propsHandle);
+    }
+  }
+
+  private void reportDispatch(ReactNativeFragment fragment, String screenName, long receivedAt) {
+    if (coordinator.hasNavigationMetricsListeners()) {
+      String instanceId = fragment.getInstanceId();
+      coordinator.reportNavigationEvent(
+          NavigationMetricsListener.Event.BRIDGE_CALL_RECEIVED, instanceId, screenName, receivedAt);
+      coordinator.reportNavigationEvent(
+          NavigationMetricsListener.Event.MAIN_THREAD_DISPATCH, instanceId, screenName);
+    }
+  }
+
   @SuppressWarnings({"UnusedParameters", "unused"})
   @ReactMethod
   public void presentNative(String name, ReadableMap props, ReadableMap options, Promise promise) {
@@ -150,16 +234,17 @@ class NavigatorModule extends ReactContextBaseJavaModule {
 
   @ReactMethod
   public void dismiss(final ReadableMap payload, @SuppressWarnings("UnusedParameters") boolean animated) {
-    handler.post(new Runnable() {
+    final HashMap<String, Object> payloadMap = payloadToMap(payload);
+    commandQueue.enqueue(new NavigationCommandQueue.Command() {
       @Override
-      public void run() {
+      void execute() {
         // TODO: handle payload
         Activity activity = getCurrentActivity();
         if (activity == null) {
           return;
         }
         ensureCoordinatorComponent(activity);
-        ((ScreenCoordinatorComponent) activity).getScreenCoordinator().dismiss(Activity.RESULT_OK, payloadToMap(payload));
+        ((ScreenCoordinatorComponent) activity).getScreenCoordinator().dismiss(Activity.RESULT_OK, payloadMap);
       }
     });
   }
@@ -167,9 +252,9 @@ class NavigatorModule extends ReactContextBaseJavaModule {
   @SuppressWarnings("UnusedParameters")
   @ReactMethod
   public void pop(ReadableMap payload, boolean animated) {
-    handler.post(new Runnable() {
+    commandQueue.enqueue(new NavigationCommandQueue.Command() {
       @Override
-      public void run() {
+      void execute() {
         // TODO: handle payload
         Activity activity = getCurrentActivity();
         if (activity == null) {
@@ -181,28 +266,11 @@ class NavigatorModule extends ReactContextBaseJavaModule {
     });
   }
 
-  private interface NavigationModifier {
-    void call(ReactInterface component, ReactToolbar toolbar);
-  }
-
-  private void withToolbar(String id, final NavigationModifier modifier) {
-    final ReactInterface component = coordinator.componentFromId(id);
-    if (component != null) {
-      handler.post(new Runnable() {
-        @Override public void run() {
-          ReactToolbar toolbar = component.getToolbar();
-          if (toolbar != null) {
-            modifier.call(component, toolbar);
-          }
-        }
-      });
-    }
-  }
-
   private void startActivityWithPromise(final Activity activity, final Intent intent,
       final Promise promise, final ReadableMap options) {
-    handler.post(new Runnable() {
-      @Override public void run() {
+    commandQueue.enqueue(new NavigationCommandQueue.Command() {
+      @Override
+      void execute() {
         if (ActivityUtils.hasActivityStopped(activity)) {
           return;
         }
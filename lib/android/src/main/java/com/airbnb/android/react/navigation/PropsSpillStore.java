@@ -0,0 +1,259 @@
+package com.airbnb.android.react.navigation;
+
+import android.os.Bundle;
+import android.os.Parcel;
+import android.support.annotation.Nullable;
+import android.util.Log;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps oversized screen props out of fragment arguments, intent extras and saved state, which all
+ * end up in Binder transactions that fail once they pass 1MB (shared with everything else in
+ * flight), and which get written out again every time the activity saves its state.
+ *
+ * Props that marshal to more than {@link #MAX_INLINE_SIZE_IN_BYTES} are written to a file in the
+ * cache directory, and replaced by a bundle that only holds the file's handle. Small props (which
+ * is almost all of them) are passed through as they are.
+ *
+ * Spilled props are reference counted by the screens using them. A file is deleted as soon as its
+ * last screen is gone for good, and otherwise kept around (least recently used first) so that it
+ * can still be read back when a screen is restored after the process was killed, which leaves no
+ * references behind.
+ *
+ * All methods are thread safe. They do disk I/O, but only for props over the inline limit. The lock
+ * only guards the reference counts (and what to evict based on them), so reading or writing one
+ * screen's props never waits for another screen's disk I/O.
+ */
+final class PropsSpillStore {
+  private static final String TAG = PropsSpillStore.class.getSimpleName();
+  private static final String SPILLED_PROPS_HANDLE = "nativeNavigationSpilledPropsHandle";
+  private static final String DIRECTORY_NAME = "native_navigation_props";
+  static final int MAX_INLINE_SIZE_IN_BYTES = 64 * 1024;
+  private static final long MAX_DISK_SIZE_IN_BYTES = 16 * 1024 * 1024;
+
+  // Guarded by this
+  private final Map<String /* handle */, Integer> referenceCounts = new HashMap<>();
+  @Nullable private volatile File directory;
+
+  /** Sets the cache directory to spill to. Props are always kept inline until this is called. */
+  void setCacheDirectory(File cacheDirectory) {
+    directory = new File(cacheDirectory, DIRECTORY_NAME);
+  }
+
+  @Nullable
+  static String getHandle(@Nullable Bundle props) {
+    return props == null ? null : props.getString(SPILLED_PROPS_HANDLE);
+  }
+
+  /**
+   * Returns {@code props} if they are small enough to be passed around as they are, or a bundle
+   * pointing to a copy of them on disk otherwise. Either way, the result can be read back with
+   * {@link #load(Bundle)}.
+   */
+  @Nullable
+  Bundle spill(@Nullable Bundle props) {
+    if (props == null || getHandle(props) != null) {
+      return props;
+    }
+    byte[] bytes = marshall(props);
+    if (bytes == null || bytes.length <= MAX_INLINE_SIZE_IN_BYTES) {
+      return props;
+    }
+    File directory = this.directory;
+    String handle = UUID.randomUUID().toString();
+    // Each handle gets a file of its own, so writing it doesn't need the lock.
+    if (directory == null || !write(directory, handle, bytes)) {
+      return props;
+    }
+    trim(directory);
+    Log.d(TAG, "Spilled " + bytes.length + " bytes of props to " + handle);
+    Bundle result = new Bundle();
+    result.putString(SPILLED_PROPS_HANDLE, handle);
+    return result;
+  }
+
+  /**
+   * Returns the props {@code props} points to if they were spilled, or {@code props} themselves if
+   * they weren't. Props whose file has been evicted since come back empty.
+   */
+  @Nullable
+  Bundle load(@Nullable Bundle props) {
+    String handle = getHandle(props);
+    if (handle == null) {
+      return props;
+    }
+    byte[] bytes = read(handle);
+    Bundle result = bytes == null ? null : unmarshall(bytes);
+    if (result == null) {
+      Log.w(TAG, "Spilled props " + handle + " are gone");
+      return new Bundle();
+    }
+    return result;
+  }
+
+  /** Marks the spilled props {@code props} point to (if any) as in use by one more screen. */
+  synchronized void retain(@Nullable Bundle props) {
+    String handle = getHandle(props);
+    if (handle != null) {
+      Integer count = referenceCounts.get(handle);
+      referenceCounts.put(handle, count == null ? 1 : count + 1);
+    }
+  }
+
+  /**
+   * Marks the spilled props {@code props} point to (if any) as no longer in use by a screen. If
+   * {@code discard} is true, the screen won't be restored, so the file is deleted once no other
+   * screen uses it either. Otherwise it is left for {@link #trim()} to evict.
+   */
+  synchronized void release(@Nullable Bundle props, boolean discard) {
+    String handle = getHandle(props);
+    if (handle == null) {
+      return;
+    }
+    Integer count = referenceCounts.get(handle);
+    if (count != null && count > 1) {
+      referenceCounts.put(handle, count - 1);
+      return;
+    }
+    referenceCounts.remove(handle);
+    File directory = this.directory;
+    if (discard && directory != null && !new File(directory, handle).delete()) {
+      Log.w(TAG, "Could not delete spilled props " + handle);
+    }
+  }
+
+  /**
+   * Deletes the least recently used files that aren't referenced by a live screen, until the
+   * directory is back under {@link #MAX_DISK_SIZE_IN_BYTES}. Only picking the files to delete needs
+   * the lock; listing and sorting the directory doesn't.
+   */
+  private void trim(File directory) {
+    File[] files = directory.listFiles();
+    if (files == null) {
+      return;
+    }
+    long size = 0;
+    Map<File, Long> lengths = new HashMap<>(files.length);
+    final Map<File, Long> lastModifiedByFile = new HashMap<>(files.length);
+    for (File file : files) {
+      long length = file.length();
+      size += length;
+      lengths.put(file, length);
+      lastModifiedByFile.put(file, file.lastModified());
+    }
+    if (size <= MAX_DISK_SIZE_IN_BYTES) {
+      return;
+    }
+    // Sorted by the times read above, which other threads may change while we sort.
+    Arrays.sort(files, new Comparator<File>() {
+      @Override
+      public int compare(File a, File b) {
+        long lhs = lastModifiedByFile.get(a);
+        long rhs = lastModifiedByFile.get(b);
+        return lhs < rhs ? -1 : (lhs == rhs ? 0 : 1);
+      }
+    });
+    synchronized (this) {
+      for (File file : files) {
+        if (size <= MAX_DISK_SIZE_IN_BYTES) {
+          break;
+        }
+        if (!referenceCounts.containsKey(file.getName()) && file.delete()) {
+          size -= lengths.get(file);
+        }
+      }
+    }
+  }
+
+  private static boolean write(File directory, String handle, byte[] bytes) {
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      Log.w(TAG, "Could not create " + directory);
+      return false;
+    }
+    File file = new File(directory, handle);
+    FileOutputStream out = null;
+    try {
+      out = new FileOutputStream(file);
+      out.write(bytes);
+      return true;
+    } catch (IOException e) {
+      Log.w(TAG, "Could not spill props to " + file, e);
+      //noinspection ResultOfMethodCallIgnored
+      file.delete();
+      return false;
+    } finally {
+      closeQuietly(out);
+    }
+  }
+
+  @Nullable
+  private byte[] read(String handle) {
+    File directory = this.directory;
+    if (directory == null) {
+      return null;
+    }
+    File file = new File(directory, handle);
+    DataInputStream in = null;
+    try {
+      in = new DataInputStream(new FileInputStream(file));
+      byte[] bytes = new byte[(int) file.length()];
+      in.readFully(bytes);
+      // Keeps the file at the back of the eviction queue.
+      //noinspection ResultOfMethodCallIgnored
+      file.setLastModified(System.currentTimeMillis());
+      return bytes;
+    } catch (IOException e) {
+      return null;
+    } finally {
+      closeQuietly(in);
+    }
+  }
+
+  @Nullable
+  private static byte[] marshall(Bundle props) {
+    Parcel parcel = Parcel.obtain();
+    try {
+      parcel.writeBundle(props);
+      return parcel.marshall();
+    } catch (RuntimeException e) {
+      // Bundles holding binders or file descriptors can't be marshalled, nor spilled.
+      return null;
+    } finally {
+      parcel.recycle();
+    }
+  }
+
+  @Nullable
+  private static Bundle unmarshall(byte[] bytes) {
+    Parcel parcel = Parcel.obtain();
+    try {
+      parcel.unmarshall(bytes, 0, bytes.length);
+      parcel.setDataPosition(0);
+      return parcel.readBundle(PropsSpillStore.class.getClassLoader());
+    } catch (RuntimeException e) {
+      return null;
+    } finally {
+      parcel.recycle();
+    }
+  }
+
+  private static void closeQuietly(@Nullable Closeable closeable) {
+    if (closeable != null) {
+      try {
+        closeable.close();
+      } catch (IOException ignored) {
+      }
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package com.airbnb.android.react.navigation;
+
+import android.os.Bundle;
+import android.support.annotation.Nullable;
+
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.ReadableMap;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holds the props of screens pushed or presented from JS, as the {@link ReadableMap}s they came
+ * over the bridge as, keyed by the screen's instance id.
+ *
+ * JS keeps its own copy of those props under a handle (see {@code Navigator.js}), so as long as the
+ * React context that pushed a screen is still around, all its root view has to be started with is
+ * that handle. The props are only converted into a {@link Bundle} when the screen's state is saved,
+ * or when JS has been reloaded since the screen was pushed.
+ *
+ * All methods must be called on the main thread.
+ */
+final class PropsStore {
+  /** The prop JS uses to pass (and get back) the handle of the props it is holding on to. */
+  static final String PROPS_HANDLE_PROP = "nativeNavigationPropsHandle";
+  private static final String PROPS_RELEASED_EVENT = "NativeNavigationScreen.onPropsReleased";
+
+  private static class Entry {
+    final ReadableMap props;
+    final String handle;
+    @Nullable final ReactContext reactContext;
+
+    Entry(ReadableMap props, String handle, @Nullable ReactContext reactContext) {
+      this.props = props;
+      this.handle = handle;
+      this.reactContext = reactContext;
+    }
+  }
+
+  private final Map<String /* instance id */, Entry> entries = new HashMap<>();
+
+  /**
+   * Returns the handle JS is holding {@code props} under, or null if it isn't (e.g. when the screen
+   * was pushed from native or was preloaded).
+   */
+  @Nullable
+  static String getHandle(@Nullable ReadableMap props) {
+    if (props == null || !props.hasKey(PROPS_HANDLE_PROP)) {
+      return null;
+    }
+    return props.getString(PROPS_HANDLE_PROP);
+  }
+
+  void put(
+      String instanceId, ReadableMap props, String handle, @Nullable ReactContext reactContext) {
+    entries.put(instanceId, new Entry(props, handle, reactContext));
+  }
+
+  boolean contains(String instanceId) {
+    return entries.containsKey(instanceId);
+  }
+
+  /**
+   * Returns the props to start the screen's root view with. That is just the handle if the current
+   * React context is the one holding on to the props, or the converted props otherwise.
+   */
+  @Nullable
+  Bundle getLaunchProps(String instanceId, @Nullable ReactContext currentReactContext) {
+    Entry entry = entries.get(instanceId);
+    if (entry == null) {
+      return null;
+    }
+    if (entry.reactContext != null && entry.reactContext == currentReactContext) {
+      Bundle props = new Bundle();
+      props.putString(PROPS_HANDLE_PROP, entry.handle);
+      return props;
+    }
+    return toBundle(instanceId);
+  }
+
+  /** Converts the props stored for {@code instanceId}, for when they need to outlive the store. */
+  @Nullable
+  Bundle toBundle(String instanceId) {
+    Entry entry = entries.get(instanceId);
+    if (entry == null) {
+      return null;
+    }
+    Bundle props = ConversionUtil.toBundle(entry.props);
+    // Handles are only meaningful to the React context that created them.
+    props.remove(PROPS_HANDLE_PROP);
+    return props;
+  }
+
+  /** Drops the props stored for {@code instanceId}, and tells JS it can drop them as well. */
+  void release(String instanceId) {
+    Entry entry = entries.remove(instanceId);
+    if (entry != null && entry.reactContext != null) {
+      releaseHandle(entry.reactContext, entry.handle);
+    }
+  }
+
+  /**
+   * Tells JS it can drop the props it is holding under {@code handle}, for when the screen they
+   * were sent for is never created (and so never stores them).
+   */
+  static void releaseHandle(ReactContext reactContext, String handle) {
+    ReactNativeUtils.maybeEmitEvent(reactContext, PROPS_RELEASED_EVENT, handle);
+  }
+}
@@ -54,6 +54,12 @@ public abstract class ReactActivity extends ReactAwareActivity implements Screen
     return screenCoordinator;
   }
 
+  @Override
+  protected void onSaveInstanceState(Bundle outState) {
+    super.onSaveInstanceState(outState);
+    screenCoordinator.onSaveInstanceState(outState);
+  }
+
   @Override
   public void onBackPressed() {
     screenCoordinator.onBackPressed();
@@ -26,6 +26,13 @@ public abstract class ReactAwareActivity extends AppCompatActivity
   protected void onResume() {
     super.onResume();
     reactInstanceManager.onHostResume(this, this);
+    reactNavigationCoordinator.getReactRootViewPool().onActivityResumed(this);
+  }
+
+  @Override
+  protected void onDestroy() {
+    super.onDestroy();
+    reactNavigationCoordinator.getReactRootViewPool().onActivityDestroyed(this);
   }
 
   @Override
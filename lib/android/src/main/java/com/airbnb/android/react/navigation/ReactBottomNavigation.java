@@ -6,6 +6,7 @@ import android.graphics.drawable.Drawable;
 import android.net.Uri;
 import android.support.design.widget.BottomNavigationView;
 import android.util.AttributeSet;
+import android.util.SparseArray;
 import android.view.MenuItem;
 import com.facebook.drawee.backends.pipeline.Fresco;
 import com.facebook.drawee.controller.BaseControllerListener;
@@ -32,6 +33,9 @@ public class ReactBottomNavigation extends BottomNavigationView {
   private final DraweeHolder mBackgroundHolder;
   private final MultiDraweeHolder<GenericDraweeHierarchy> mItemIconHolders =
       new MultiDraweeHolder<>();
+  // The holder of each item's icon, by item id, so that changing an icon reuses it
+  private final SparseArray<DraweeHolder<GenericDraweeHierarchy>> mItemIconHoldersById =
+      new SparseArray<>();
 
   private IconControllerListener mBackgroundControllerListener;
 
@@ -44,6 +48,7 @@ public class ReactBottomNavigation extends BottomNavigationView {
     private final DraweeHolder mHolder;
 
     private IconImageInfo mIconImageInfo;
+    private String mCacheKey;
 
     public IconControllerListener(DraweeHolder holder) {
       mHolder = holder;
@@ -53,9 +58,16 @@ public class ReactBottomNavigation extends BottomNavigationView {
       mIconImageInfo = iconImageInfo;
     }
 
+    void setCacheKey(String cacheKey) {
+      mCacheKey = cacheKey;
+    }
+
     @Override
     public void onFinalImageSet(String id, ImageInfo imageInfo, Animatable animatable) {
       super.onFinalImageSet(id, imageInfo, animatable);
+      if (mCacheKey != null && imageInfo != null) {
+        getIconCache().put(mCacheKey, imageInfo);
+      }
 
       final ImageInfo info = mIconImageInfo != null ? mIconImageInfo : imageInfo;
       setDrawable(new DrawableWithIntrinsicSize(mHolder.getTopLevelDrawable(), info));
@@ -171,17 +183,20 @@ public class ReactBottomNavigation extends BottomNavigationView {
 
   public void clearIconHolders() {
     mItemIconHolders.clear();
+    mItemIconHoldersById.clear();
   }
 
   public void setMenuItemIcon(final MenuItem item, ReadableMap iconSource) {
-    DraweeHolder<GenericDraweeHierarchy> holder =
-        DraweeHolder.create(createDraweeHierarchy(), getContext());
+    DraweeHolder<GenericDraweeHierarchy> holder = mItemIconHoldersById.get(item.getItemId());
+    if (holder == null) {
+      holder = DraweeHolder.create(createDraweeHierarchy(), getContext());
+      mItemIconHolders.add(holder);
+      mItemIconHoldersById.put(item.getItemId(), holder);
+    }
     ActionIconControllerListener controllerListener = new ActionIconControllerListener(item, holder);
     controllerListener.setIconImageInfo(getIconImageInfo(iconSource));
 
     setIconSource(iconSource, controllerListener, holder);
-
-    mItemIconHolders.add(holder);
   }
 
   /**
@@ -197,7 +212,17 @@ public class ReactBottomNavigation extends BottomNavigationView {
       controllerListener.setIconImageInfo(null);
       controllerListener.setDrawable(null);
     } else if (uri.startsWith("http://") || uri.startsWith("https://") || uri.startsWith("file://")) {
-      controllerListener.setIconImageInfo(getIconImageInfo(source));
+      IconImageInfo iconImageInfo = getIconImageInfo(source);
+      String cacheKey = IconCache.keyFor(uri, iconImageInfo);
+      Drawable cached = getIconCache().getDrawable(getResources(), cacheKey, iconImageInfo);
+      if (cached != null) {
+        // Drop any request still in flight for a previous source, so it can't replace this icon.
+        holder.setController(null);
+        controllerListener.setDrawable(cached);
+        return;
+      }
+      controllerListener.setIconImageInfo(iconImageInfo);
+      controllerListener.setCacheKey(cacheKey);
       DraweeController controller = Fresco.newDraweeControllerBuilder()
           .setUri(Uri.parse(uri))
           .setControllerListener(controllerListener)
@@ -217,22 +242,19 @@ public class ReactBottomNavigation extends BottomNavigationView {
         .build();
   }
 
-  private int getDrawableResourceByName(String name) {
-    return getResources().getIdentifier(
-        name,
-        "drawable",
-        getContext().getPackageName());
-  }
-
   private Drawable getDrawableByName(String name) {
-    int drawableResId = getDrawableResourceByName(name);
+    int drawableResId = getIconCache().getDrawableResourceId(getContext(), name);
     if (drawableResId != 0) {
-      return getResources().getDrawable(getDrawableResourceByName(name));
+      return getResources().getDrawable(drawableResId);
     } else {
       return null;
     }
   }
 
+  private static IconCache getIconCache() {
+    return ReactNavigationCoordinator.sharedInstance.getIconCache();
+  }
+
   private IconImageInfo getIconImageInfo(ReadableMap source) {
     if (source.hasKey(PROP_ICON_WIDTH) && source.hasKey(PROP_ICON_HEIGHT)) {
       final int width = Math.round(PixelUtil.toPixelFromDIP(source.getInt(PROP_ICON_WIDTH)));
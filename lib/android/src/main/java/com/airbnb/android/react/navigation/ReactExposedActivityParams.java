@@ -8,6 +8,7 @@ import android.os.Parcelable;
 
 import com.facebook.react.bridge.ReadableMap;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 import static com.airbnb.android.react.navigation.ReactExposedActivityParamsConstants.KEY_ARGUMENT;
 
@@ -17,6 +18,8 @@ public class ReactExposedActivityParams {
   private final Class<? extends Activity> klass;
   private final Class<? extends Parcelable> argumentType;
   private static final Class<Bundle> DEFAULT_CLASS = Bundle.class;
+  // Created on first use, since most exposed activities are never launched in a given session.
+  private volatile ObjectReader argumentReader;
 
   public ReactExposedActivityParams(ObjectMapper objectMapper, String key,
       Class<? extends Activity> klass) {
@@ -46,11 +49,22 @@ public class ReactExposedActivityParams {
     if (argumentType.equals(DEFAULT_CLASS)) {
       intent.putExtras(ConversionUtil.toBundle(arguments));
     } else {
-      intent.putExtra(KEY_ARGUMENT, ConversionUtil.toType(objectMapper, arguments, argumentType));
+      Parcelable argument = ConversionUtil.toType(getArgumentReader(), arguments);
+      intent.putExtra(KEY_ARGUMENT, argument);
     }
     return intent;
   }
 
+  private ObjectReader getArgumentReader() {
+    // ObjectReaders are immutable, so it doesn't matter if two threads race to create this.
+    ObjectReader reader = argumentReader;
+    if (reader == null) {
+      reader = JacksonUtils.readerForType(objectMapper, argumentType);
+      argumentReader = reader;
+    }
+    return reader;
+  }
+
   String key() {
     return key;
   }
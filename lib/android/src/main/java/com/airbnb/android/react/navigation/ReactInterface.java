@@ -3,8 +3,6 @@ package com.airbnb.android.react.navigation;
 import android.support.v4.app.FragmentActivity;
 
 import com.facebook.react.ReactRootView;
-import com.facebook.react.bridge.ReadableMap;
-
 import java.util.Map;
 
 public interface ReactInterface {
@@ -17,7 +15,7 @@ public interface ReactInterface {
   void notifySharedElementAddition();
   FragmentActivity getActivity();
   void emitEvent(String eventName, Object object);
-  void receiveNavigationProperties(ReadableMap properties);
+  void receiveNavigationProperties(ScreenConfig properties);
   void dismiss();
   // @formatter:on
 }
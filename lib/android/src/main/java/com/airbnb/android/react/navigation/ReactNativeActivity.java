@@ -5,14 +5,13 @@ import android.os.Handler;
 import android.util.Log;
 
 import com.airbnb.android.R;
-import com.facebook.react.bridge.ReadableMap;
 
 public class ReactNativeActivity extends ReactAwareActivity {
   private static final String TAG = ReactNativeActivity.class.getSimpleName();
 
   private final Handler handler = new Handler();
   private ReactNavigationCoordinator reactNavigationCoordinator = ReactNavigationCoordinator.sharedInstance;
-  private ReadableMap initialConfig = ConversionUtil.EMPTY_MAP;
+  private ScreenConfig initialConfig = ScreenConfig.EMPTY;
   private ReactNativeFragment fragment;
 
   @Override
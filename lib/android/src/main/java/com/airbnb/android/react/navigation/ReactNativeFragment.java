@@ -21,6 +21,7 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.view.ViewStub;
 import android.view.animation.Animation;
+import android.view.animation.AnimationSet;
 
 import com.airbnb.android.R;
 import com.facebook.react.ReactInstanceManager;
@@ -43,12 +44,12 @@ public class ReactNativeFragment extends Fragment implements ReactInterface,
   static final String EXTRA_REACT_MODULE_NAME = "REACT_MODULE_NAME";
   static final String EXTRA_REACT_PROPS = "REACT_PROPS";
   static final String EXTRA_IS_MODAL = "IS_MODAL";
+  static final String EXTRA_INSTANCE_ID = "REACT_INSTANCE_ID";
   private static final String ON_DISAPPEAR = "onDisappear";
   private static final String ON_APPEAR = "onAppear";
   private static final String INSTANCE_ID_PROP = "nativeNavigationInstanceId";
   private static final String ON_BUTTON_PRESS = "onButtonPress";
   private static final String INITIAL_BAR_HEIGHT_PROP = "nativeNavigationInitialBarHeight";
-  private static final int RENDER_TIMEOUT_IN_MS = 1700; // TODO(lmr): put this back down when done debugging
 
   // An incrementing ID to identify each ReactNativeActivity instance (used in `instanceId`)
   private static int UUID = 1;
@@ -59,19 +60,26 @@ public class ReactNativeFragment extends Fragment implements ReactInterface,
     @Override
     public void run() {
       Log.d(TAG, "render timeout callback called");
-      signalFirstRenderComplete();
+      onFirstRender(FirstRenderDetector.Source.TIMEOUT);
     }
   };
 
   private String instanceId;
   private boolean isSharedElementTransition;
   private boolean isWaitingForRenderToFinish = false;
+  private boolean hasRendered = false;
+  @Nullable private Runnable afterFirstRender;
+  @Nullable private FirstRenderDetector firstRenderDetector;
   private float barHeight;
-  private ReadableMap initialConfig = ConversionUtil.EMPTY_MAP;
-  private ReadableMap previousConfig = ConversionUtil.EMPTY_MAP;
-  private ReadableMap renderedConfig = ConversionUtil.EMPTY_MAP;
+  private ScreenConfig initialConfig = ScreenConfig.EMPTY;
+  private ScreenConfig previousConfig = ScreenConfig.EMPTY;
+  private ScreenConfig renderedConfig = ScreenConfig.EMPTY;
   private ReactNativeFragmentViewGroup contentContainer;
   private ReactRootView reactRootView;
+  // The props saved with our state, if they had to be converted from the PropsStore
+  @Nullable private Bundle savedProps;
+  // A root view whose React application was started ahead of time by the ReactRootViewPool
+  @Nullable private ReactRootViewPool.MountedRootView mountedRootView;
   //  private ReactInterfaceManager activityManager;
   private final Handler handler = new Handler();
   private PermissionListener permissionListener;
@@ -80,10 +88,48 @@ public class ReactNativeFragment extends Fragment implements ReactInterface,
   private View loadingView;
 
   static ReactNativeFragment newInstance(String moduleName, @Nullable Bundle props) {
+    return newInstance(moduleName, props,
+            ReactNavigationCoordinator.sharedInstance.getPropsSpillStore().spill(props));
+  }
+
+  /**
+   * Like {@link #newInstance(String, Bundle)}, for when {@code props} have already been spilled (see
+   * {@link PropsSpillStore#spill(Bundle)}) into {@code spilledProps}, so that doesn't have to happen
+   * on the main thread.
+   */
+  static ReactNativeFragment newInstance(
+          String moduleName, @Nullable Bundle props, @Nullable Bundle spilledProps) {
+    ReactNativeFragment frag = new ReactNativeFragment();
+    // The instance id is assigned up front (rather than in onCreate) so that navigation metrics can
+    // be reported for the screen before its fragment transaction has executed.
+    frag.mountedRootView = ReactNavigationCoordinator.sharedInstance.getReactRootViewPool()
+            .acquireMounted(moduleName, props);
+    frag.instanceId = frag.mountedRootView != null
+            ? frag.mountedRootView.instanceId
+            : generateInstanceId(moduleName);
+    Bundle args = new BundleBuilder()
+            .putString(ReactNativeIntents.EXTRA_MODULE_NAME, moduleName)
+            .putBundle(ReactNativeIntents.EXTRA_PROPS, spilledProps)
+            .putString(EXTRA_INSTANCE_ID, frag.instanceId)
+            .toBundle();
+    frag.setArguments(args);
+    return frag;
+  }
+
+  /**
+   * Creates a fragment for a screen pushed or presented from JS, whose props JS is holding on to
+   * under {@code propsHandle} (see {@link PropsStore}). The props are kept as they are rather than
+   * being converted into the fragment's arguments.
+   */
+  static ReactNativeFragment newInstance(String moduleName, ReadableMap props, String propsHandle) {
     ReactNativeFragment frag = new ReactNativeFragment();
+    frag.instanceId = generateInstanceId(moduleName);
+    ReactNavigationCoordinator coordinator = ReactNavigationCoordinator.sharedInstance;
+    coordinator.getPropsStore().put(frag.instanceId, props, propsHandle,
+            coordinator.getReactInstanceManager().getCurrentReactContext());
     Bundle args = new BundleBuilder()
             .putString(ReactNativeIntents.EXTRA_MODULE_NAME, moduleName)
-            .putBundle(ReactNativeIntents.EXTRA_PROPS, props)
+            .putString(EXTRA_INSTANCE_ID, frag.instanceId)
             .toBundle();
     frag.setArguments(args);
     return frag;
@@ -95,17 +141,28 @@ public class ReactNativeFragment extends Fragment implements ReactInterface,
     return frag;
   }
 
+  private static String generateInstanceId(String moduleName) {
+    return String.format(Locale.ENGLISH, "%1s_fragment_%2$d", moduleName, UUID++);
+  }
+
   @Override
   public void onCreate(Bundle savedInstanceState) {
     super.onCreate(savedInstanceState);
     if (instanceId == null) {
-      if (savedInstanceState == null) {
-        String moduleName = getArguments().getString(ReactNativeIntents.EXTRA_MODULE_NAME);
-        instanceId = String.format(Locale.ENGLISH, "%1s_fragment_%2$d", moduleName, UUID++);
-      } else {
+      if (savedInstanceState != null) {
         instanceId = savedInstanceState.getString(INSTANCE_ID_PROP);
+        Bundle restoredProps = savedInstanceState.getBundle(ReactNativeIntents.EXTRA_PROPS);
+        if (restoredProps != null && !getPropsStore().contains(instanceId)) {
+          // The process was restarted since the props were stored.
+          getArguments().putBundle(ReactNativeIntents.EXTRA_PROPS, restoredProps);
+        }
+      } else if (getArguments().containsKey(EXTRA_INSTANCE_ID)) {
+        instanceId = getArguments().getString(EXTRA_INSTANCE_ID);
+      } else {
+        instanceId = generateInstanceId(getModuleName());
       }
     }
+    getPropsSpillStore().retain(getArguments().getBundle(ReactNativeIntents.EXTRA_PROPS));
 
     setHasOptionsMenu(true);
     Log.d(TAG, "onCreate");
@@ -139,16 +196,6 @@ public class ReactNativeFragment extends Fragment implements ReactInterface,
               });
     } else {
       onAttachWithReactContext();
-      // in this case, we end up waiting for the first render to complete
-      // doing the transition. If this never happens for some reason, we are going to push
-      // anyway in 250ms. The handler should get canceled + called sooner though (it's za race).
-      isWaitingForRenderToFinish = true;
-      handler.postDelayed(new Runnable() {
-        @Override public void run() {
-          Log.d(TAG, "render timeout callback called");
-          startPostponedEnterTransition();
-        }
-      }, RENDER_TIMEOUT_IN_MS);
     }
 //    activityManager = new ReactInterfaceManager(this);
     reactNavigationCoordinator.registerComponent(this, instanceId);
@@ -167,25 +214,36 @@ public class ReactNativeFragment extends Fragment implements ReactInterface,
       return;
     }
     String moduleName = getArguments().getString(ReactNativeIntents.EXTRA_MODULE_NAME);
-    Bundle props = getArguments().getBundle(ReactNativeIntents.EXTRA_PROPS);
+    Bundle props = getPropsStore().getLaunchProps(
+            instanceId, reactInstanceManager.getCurrentReactContext());
+    if (props == null) {
+      props = getPropsSpillStore().load(getArguments().getBundle(ReactNativeIntents.EXTRA_PROPS));
+    }
     if (props == null) {
       props = new Bundle();
     }
     props.putString(INSTANCE_ID_PROP, instanceId);
 
+    if (mountedRootView != null && mountedRootView.view.getContext() != activity) {
+      // It was mounted for another activity, whose theme its views would have. Our instance id is
+      // still unique, so we start the screen from scratch under it.
+      getReactRootViewPool().discard(mountedRootView);
+      mountedRootView = null;
+    }
     if (reactRootView == null) {
-      ViewStub reactViewStub = (ViewStub) getView().findViewById(R.id.react_root_view_stub);
-      reactRootView = (ReactRootView) reactViewStub.inflate();
+      reactRootView = inflateReactRootView();
     }
 
-    getImplementation().reconcileNavigationProperties(
-            this,
-            getToolbar(),
-            activity.getSupportActionBar(),
-            ConversionUtil.EMPTY_MAP,
-            renderedConfig,
-            true
-    );
+    if (!isHostHidden()) {
+      getImplementation().reconcileNavigationProperties(
+              this,
+              getToolbar(),
+              activity.getSupportActionBar(),
+              ScreenConfig.EMPTY,
+              renderedConfig,
+              true
+      );
+    }
 
     barHeight = getImplementation().getBarHeight(
             this,
@@ -195,7 +253,114 @@ public class ReactNativeFragment extends Fragment implements ReactInterface,
             true
     );
 
-    reactRootView.startReactApplication(reactInstanceManager, moduleName, props);
+    waitForFirstRender(moduleName);
+    reportNavigationEvent(NavigationMetricsListener.Event.REACT_MOUNT_STARTED);
+
+    if (mountedRootView != null) {
+      // JS has already rendered this screen, and set its config before we were registered to
+      // receive it.
+      ScreenConfig pendingConfig = getReactRootViewPool().takePendingConfig(instanceId);
+      if (pendingConfig != null) {
+        receiveNavigationProperties(pendingConfig);
+      }
+      if (barHeight != mountedRootView.initialBarHeight) {
+        emitEvent("onBarHeightChanged", barHeight);
+      }
+      mountedRootView = null;
+      // It has also signaled its first render before we were listening for it, so the transition
+      // can start as soon as the view is in the hierarchy.
+      handler.post(new Runnable() {
+        @Override public void run() {
+          signalFirstRenderComplete();
+        }
+      });
+    } else {
+      props.putFloat(INITIAL_BAR_HEIGHT_PROP, barHeight);
+      reactRootView.startReactApplication(reactInstanceManager, moduleName, props);
+    }
+  }
+
+  /**
+   * We hold the enter transition until the screen has rendered. Screens registered with
+   * `waitForRender` wait for JS to signal it, while every other screen starts as soon as the root
+   * view has laid out real content. If neither happens within the screen's render timeout, we
+   * transition anyway.
+   */
+  private void waitForFirstRender(String moduleName) {
+    isWaitingForRenderToFinish = true;
+    handler.postDelayed(timeoutCallback, reactNavigationCoordinator.getRenderTimeout(moduleName));
+    if (!reactNavigationCoordinator.getOrDefault(moduleName).waitForRender) {
+      firstRenderDetector = new FirstRenderDetector(reactRootView,
+              new FirstRenderDetector.Callback() {
+                @Override
+                public void onFirstLayout() {
+                  onFirstRender(FirstRenderDetector.Source.LAYOUT);
+                }
+              });
+      firstRenderDetector.start();
+    }
+  }
+
+  private void onFirstRender(FirstRenderDetector.Source source) {
+    if (!isWaitingForRenderToFinish) {
+      return;
+    }
+    Log.d(TAG, "onFirstRender: " + source);
+    isWaitingForRenderToFinish = false;
+    handler.removeCallbacks(timeoutCallback);
+    if (firstRenderDetector != null) {
+      firstRenderDetector.stop();
+      firstRenderDetector = null;
+    }
+    FirstRenderDetector.record(source);
+    switch (source) {
+      case LAYOUT:
+        reportNavigationEvent(NavigationMetricsListener.Event.FIRST_LAYOUT);
+        break;
+      case SIGNAL:
+        reportNavigationEvent(NavigationMetricsListener.Event.FIRST_RENDER_SIGNALED);
+        break;
+      case TIMEOUT:
+        reportNavigationEvent(NavigationMetricsListener.Event.RENDER_TIMED_OUT);
+        break;
+    }
+    reportNavigationEvent(NavigationMetricsListener.Event.TRANSITION_STARTED);
+    startPostponedEnterTransition();
+    hasRendered = true;
+    if (afterFirstRender != null) {
+      Runnable callback = afterFirstRender;
+      afterFirstRender = null;
+      callback.run();
+    }
+  }
+
+  /**
+   * Runs {@code callback} once this screen has rendered for the first time (or gave up waiting for
+   * it), while its enter transition is starting, or right away if that has already happened. Only
+   * the latest callback is kept.
+   */
+  void runAfterFirstRender(Runnable callback) {
+    if (hasRendered) {
+      callback.run();
+    } else {
+      afterFirstRender = callback;
+    }
+  }
+
+  /**
+   * Swaps the root view stub for a pre-mounted or pooled {@link ReactRootView} if there is one, and
+   * only falls back to inflating a new one when the pool is empty.
+   */
+  private ReactRootView inflateReactRootView() {
+    ViewStub reactViewStub = (ViewStub) getView().findViewById(R.id.react_root_view_stub);
+    ReactRootView view = mountedRootView != null
+            ? mountedRootView.view
+            : getReactRootViewPool().acquire(activity);
+    if (view == null) {
+      return (ReactRootView) reactViewStub.inflate();
+    }
+    ViewUtils.replaceViewStub(reactViewStub, view);
+    return view;
   }
 
   @Override
@@ -209,19 +374,10 @@ public class ReactNativeFragment extends Fragment implements ReactInterface,
     contentContainer = (ReactNativeFragmentViewGroup) v.findViewById(R.id.content_container);
     contentContainer.setKeyListener(this);
     activity = (AppCompatActivity) getActivity();
-    activity.setSupportActionBar(toolbar);
-
-    toolbar.setNavigationOnClickListener(new View.OnClickListener() {
-      @Override
-      public void onClick(View v) {
-        Activity activity = ReactNativeFragment.this.getActivity();
-        if (activity instanceof ScreenCoordinatorComponent) {
-          ((ScreenCoordinatorComponent) activity).getScreenCoordinator().onBackPressed();
-        } else {
-          activity.onBackPressed();
-        }
-      }
-    });
+    if (!isHostHidden()) {
+      // Otherwise this happens once the host is shown.
+      setUpToolbar();
+    }
 
     String moduleName = getArguments().getString(EXTRA_REACT_MODULE_NAME);
     Log.d(TAG, "onCreateView " + moduleName);
@@ -230,8 +386,8 @@ public class ReactNativeFragment extends Fragment implements ReactInterface,
     // for reconciliation, we save this in "renderedConfig" until the real one comes down
     renderedConfig = initialConfig;
 
-    if (initialConfig.hasKey("screenColor")) {
-      int backgroundColor = initialConfig.getInt("screenColor");
+    if (initialConfig.getScreenColor() != null) {
+      int backgroundColor = initialConfig.getScreenColor();
       // TODO(lmr): do we need to create a style for this?...
 //        if (backgroundColor == Color.TRANSPARENT) {
 //            // This needs to happen before setContentView gets called
@@ -239,9 +395,74 @@ public class ReactNativeFragment extends Fragment implements ReactInterface,
 //        }
     }
 
+    reportNavigationEvent(NavigationMetricsListener.Event.VIEW_CREATED);
     return v;
   }
 
+  private void setUpToolbar() {
+    activity.setSupportActionBar(toolbar);
+    // This has to come after setSupportActionBar, which sets a navigation listener of its own.
+    toolbar.setNavigationOnClickListener(new View.OnClickListener() {
+      @Override
+      public void onClick(View v) {
+        Activity activity = ReactNativeFragment.this.getActivity();
+        if (activity instanceof ScreenCoordinatorComponent) {
+          ((ScreenCoordinatorComponent) activity).getScreenCoordinator().onBackPressed();
+        } else {
+          activity.onBackPressed();
+        }
+      }
+    });
+  }
+
+  /**
+   * Whether a fragment hosting this one is hidden (see {@link #onHostHiddenChanged(boolean)}). We
+   * stay resumed while it is, but leave the activity alone and don't tell JS that we appeared.
+   */
+  private boolean isHostHidden() {
+    Fragment host = getParentFragment();
+    while (host != null) {
+      if (host.isHidden()) {
+        return true;
+      }
+      host = host.getParentFragment();
+    }
+    return false;
+  }
+
+  /**
+   * Called when the fragment hosting this one, such as the {@link TabStackFragment} of a tab, is
+   * hidden or shown again. Unlike being detached, that leaves our view and React application as they
+   * are, but the activity's action bar and bar properties belong to whichever screen was showing.
+   * Whatever JS set while we were hidden was only recorded, so it is applied here.
+   */
+  void onHostHiddenChanged(boolean hidden) {
+    if (hidden) {
+      if (isResumed()) {
+        // Otherwise we already disappeared when we were paused.
+        emitEvent(ON_DISAPPEAR, null);
+      }
+      return;
+    }
+    if (getView() != null) {
+      setUpToolbar();
+      if (reactRootView != null) {
+        getImplementation().reconcileNavigationProperties(
+                this,
+                getToolbar(),
+                activity.getSupportActionBar(),
+                ScreenConfig.EMPTY,
+                renderedConfig,
+                true
+        );
+      }
+    }
+    if (isResumed()) {
+      // Otherwise we appear once we are resumed.
+      emitEvent(ON_APPEAR, null);
+    }
+  }
+
   @Override
   public void postponeEnterTransition() {
     super.postponeEnterTransition();
@@ -267,6 +488,14 @@ public class ReactNativeFragment extends Fragment implements ReactInterface,
   @Override
   public void onSaveInstanceState(Bundle outState) {
     outState.putString(INSTANCE_ID_PROP, instanceId);
+    if (getPropsStore().contains(instanceId)) {
+      if (savedProps == null) {
+        // The stored props never change, so they only need to be converted (and spilled) once.
+        savedProps = getPropsSpillStore().spill(getPropsStore().toBundle(instanceId));
+        getPropsSpillStore().retain(savedProps);
+      }
+      outState.putBundle(ReactNativeIntents.EXTRA_PROPS, savedProps);
+    }
   }
 
   @Override
@@ -276,28 +505,91 @@ public class ReactNativeFragment extends Fragment implements ReactInterface,
       // disappear unless we delay it until after the fragment animation.
       if (transit == FragmentTransaction.TRANSIT_NONE && nextAnim == 0) {
         reactRootView.unmountReactApplication();
+        reportNavigationEvent(NavigationMetricsListener.Event.UNMOUNTED);
       } else {
-        contentContainer.unmountReactApplicationAfterAnimation(reactRootView);
-
+        contentContainer.unmountReactApplicationAfterAnimation(reactRootView, new Runnable() {
+          @Override
+          public void run() {
+            reportNavigationEvent(NavigationMetricsListener.Event.UNMOUNTED);
+          }
+        });
       }
       reactRootView = null;
     }
+    Animation animation = null;
     if (getActivity() instanceof ScreenCoordinatorComponent) {
       ScreenCoordinator screenCoordinator =
               ((ScreenCoordinatorComponent) getActivity()).getScreenCoordinator();
       if (screenCoordinator != null) {
         // In some cases such as TabConfig, the screen may be loaded before there is a screen
         // coordinator but it doesn't live inside of any back stack and isn't visible.
-        return screenCoordinator.onCreateAnimation(transit, enter, nextAnim);
+        animation = screenCoordinator.onCreateAnimation(transit, enter, nextAnim);
+      }
+    }
+    if (enter && reactNavigationCoordinator.hasNavigationMetricsListeners()) {
+      animation = reportWhenAnimationEnds(animation, nextAnim);
+    }
+    return animation;
+  }
+
+  /**
+   * Finds out when the enter transition has ended. Animations that were set up for us are wrapped
+   * rather than given a listener, so that a listener set on them already keeps working. When the
+   * fragment manager loads the animation itself, we wait for as long as the animation it started
+   * on our view says it takes.
+   */
+  @Nullable
+  private Animation reportWhenAnimationEnds(@Nullable Animation animation, int nextAnim) {
+    final Runnable reportTransitionEnded = new Runnable() {
+      @Override
+      public void run() {
+        reportNavigationEvent(NavigationMetricsListener.Event.TRANSITION_ENDED);
+      }
+    };
+    if (animation == null) {
+      final View view = getView();
+      if (nextAnim == 0 || view == null) {
+        reportTransitionEnded.run();
+        return null;
       }
+      // The fragment manager starts the animation right after we return.
+      view.post(new Runnable() {
+        @Override
+        public void run() {
+          Animation running = view.getAnimation();
+          handler.postDelayed(reportTransitionEnded,
+                  running == null ? 0 : running.computeDurationHint());
+        }
+      });
+      return null;
     }
-    return null;
+    AnimationSet wrapper = new AnimationSet(false);
+    wrapper.addAnimation(animation);
+    wrapper.setFillBefore(animation.getFillBefore());
+    wrapper.setFillAfter(animation.getFillAfter());
+    wrapper.setAnimationListener(new Animation.AnimationListener() {
+      @Override
+      public void onAnimationStart(Animation animation) {
+      }
+
+      @Override
+      public void onAnimationEnd(Animation animation) {
+        reportTransitionEnded.run();
+      }
+
+      @Override
+      public void onAnimationRepeat(Animation animation) {
+      }
+    });
+    return wrapper;
   }
 
   @Override
   public void onPause() {
     super.onPause();
-    emitEvent(ON_DISAPPEAR, null);
+    if (!isHostHidden()) {
+      emitEvent(ON_DISAPPEAR, null);
+    }
   }
 
   @Override
@@ -305,15 +597,42 @@ public class ReactNativeFragment extends Fragment implements ReactInterface,
     super.onResume();
     Log.d(TAG, "onResume");
     updateBarHeightIfNeeded();
-    emitEvent(ON_APPEAR, null);
+    if (!isHostHidden()) {
+      emitEvent(ON_APPEAR, null);
+    }
   }
 
   @Override public void onDestroyView() {
     Log.d(TAG, "onDestroyView");
     super.onDestroyView();
+    handler.removeCallbacks(timeoutCallback);
+    isWaitingForRenderToFinish = false;
+    if (firstRenderDetector != null) {
+      firstRenderDetector.stop();
+      firstRenderDetector = null;
+    }
     reactNavigationCoordinator.unregisterComponent(instanceId);
   }
 
+  @Override
+  public void onDestroy() {
+    super.onDestroy();
+    if (mountedRootView != null) {
+      // We never got far enough to show the pre-mounted view.
+      getReactRootViewPool().discard(mountedRootView);
+      mountedRootView = null;
+    }
+    if (!getActivity().isChangingConfigurations()) {
+      // Otherwise the recreated fragment will pick the props back up with our instance id.
+      getPropsStore().release(instanceId);
+    }
+    // Unless the screen is gone for good, its saved state may still point to spilled props.
+    boolean discard = isRemoving() || getActivity().isFinishing();
+    getPropsSpillStore().release(getArguments().getBundle(ReactNativeIntents.EXTRA_PROPS), discard);
+    getPropsSpillStore().release(savedProps, discard);
+    reactNavigationCoordinator.destroyComponent(instanceId);
+  }
+
   @Override
   public boolean onKeyDown(int keyCode, KeyEvent event) {
     return false;
@@ -377,7 +696,7 @@ public class ReactNativeFragment extends Fragment implements ReactInterface,
   @Override
   public void signalFirstRenderComplete() {
     Log.d(TAG, "signalFirstRenderComplete");
-    startPostponedEnterTransition();
+    onFirstRender(FirstRenderDetector.Source.SIGNAL);
   }
 
   @Override
@@ -387,7 +706,7 @@ public class ReactNativeFragment extends Fragment implements ReactInterface,
       // if we are receiving a sharedElement and we have postponed the enter transition,
       // we want to cancel any existing handler and create a new one.
       // This is effectively debouncing the call.
-      handler.removeCallbacksAndMessages(timeoutCallback);
+      handler.removeCallbacks(timeoutCallback);
       handler.post(new Runnable() {
         @Override public void run() {
           signalFirstRenderComplete();
@@ -426,6 +745,26 @@ public class ReactNativeFragment extends Fragment implements ReactInterface,
     return reactNavigationCoordinator.getImplementation();
   }
 
+  private ReactRootViewPool getReactRootViewPool() {
+    return reactNavigationCoordinator.getReactRootViewPool();
+  }
+
+  private PropsStore getPropsStore() {
+    return reactNavigationCoordinator.getPropsStore();
+  }
+
+  private PropsSpillStore getPropsSpillStore() {
+    return reactNavigationCoordinator.getPropsSpillStore();
+  }
+
+  private String getModuleName() {
+    return getArguments().getString(ReactNativeIntents.EXTRA_MODULE_NAME);
+  }
+
+  private void reportNavigationEvent(NavigationMetricsListener.Event event) {
+    reactNavigationCoordinator.reportNavigationEvent(event, instanceId, getModuleName());
+  }
+
   public void emitEvent(String eventName, Object object) {
     if (isSuccessfullyInitialized()) {
       String key =
@@ -446,10 +785,18 @@ public class ReactNativeFragment extends Fragment implements ReactInterface,
   }
 
   @Override
-  public void receiveNavigationProperties(ReadableMap properties) {
+  public void receiveNavigationProperties(ScreenConfig properties) {
+    ScreenConfig nextConfig = this.initialConfig.merge(properties);
+    if (nextConfig.equals(this.renderedConfig)) {
+      // Nothing to reconcile, and no need to invalidate the options menu either.
+      return;
+    }
     this.previousConfig = this.renderedConfig;
-    this.renderedConfig = ConversionUtil.combine(this.initialConfig, properties);
-    reconcileNavigationProperties();
+    this.renderedConfig = nextConfig;
+    if (!isHostHidden()) {
+      // Otherwise the whole config is reconciled once the host is shown.
+      reconcileNavigationProperties();
+    }
     updateBarHeightIfNeeded();
   }
 
@@ -18,6 +18,7 @@ public class ReactNativeFragmentViewGroup extends FrameLayout {
   }
 
   @Nullable private ReactRootView reactRootView;
+  @Nullable private Runnable onUnmounted;
   @Nullable private KeyListener keyListener;
 
   public ReactNativeFragmentViewGroup(Context context) {
@@ -45,8 +46,10 @@ public class ReactNativeFragmentViewGroup extends FrameLayout {
     return handled;
   }
 
-  void unmountReactApplicationAfterAnimation(ReactRootView reactRootView) {
+  void unmountReactApplicationAfterAnimation(ReactRootView reactRootView,
+      @Nullable Runnable onUnmounted) {
     this.reactRootView = reactRootView;
+    this.onUnmounted = onUnmounted;
   }
 
   @Override
@@ -55,6 +58,10 @@ public class ReactNativeFragmentViewGroup extends FrameLayout {
     if (reactRootView != null) {
       reactRootView.unmountReactApplication();
       reactRootView = null;
+      if (onUnmounted != null) {
+        onUnmounted.run();
+        onUnmounted = null;
+      }
     }
   }
 }
@@ -8,8 +8,6 @@ import android.support.annotation.Nullable;
 import android.support.v4.app.ActivityOptionsCompat;
 import android.view.ViewGroup;
 
-import com.airbnb.android.R;
-import com.facebook.react.ReactRootView;
 import com.facebook.react.bridge.ReadableMap;
 
 public final class ReactNativeIntents {
@@ -34,12 +32,7 @@ public final class ReactNativeIntents {
   public static void pushScreen(Activity activity, String moduleName, @Nullable Bundle props) {
     // TODO: right now this is the same as presentScreen but eventually it should just do
     // a fragment transaction
-    Intent intent = pushIntent(activity, moduleName, props);
-    //noinspection unchecked
-    Bundle options = ActivityOptionsCompat
-            .makeSceneTransitionAnimation(activity)
-            .toBundle();
-    activity.startActivity(intent, options);
+    startActivity(activity, moduleName, props, false);
   }
 
   @SuppressWarnings("WeakerAccess")
@@ -50,7 +43,19 @@ public final class ReactNativeIntents {
 
   @SuppressWarnings("WeakerAccess")
   public static void presentScreen(Activity activity, String moduleName, @Nullable Bundle props) {
-    Intent intent = presentIntent(activity, moduleName, props);
+    startActivity(activity, moduleName, props, true);
+  }
+
+  /**
+   * Props are spilled (see {@link PropsSpillStore}) right here, before the activity is started, so
+   * that screens are started in the order they were asked for.
+   */
+  private static void startActivity(
+          Activity activity, String moduleName, @Nullable Bundle props, boolean present) {
+    Bundle spilledProps = coordinator.getPropsSpillStore().spill(props);
+    Intent intent = present
+            ? presentIntent(activity, moduleName, spilledProps)
+            : pushIntent(activity, moduleName, spilledProps);
     //noinspection unchecked
     Bundle options = ActivityOptionsCompat
             .makeSceneTransitionAnimation(activity)
@@ -61,12 +66,12 @@ public final class ReactNativeIntents {
   static Bundle getSharedElementOptionsBundle(
           Activity activity, Intent intent, @Nullable ReadableMap options) {
     ViewGroup transitionGroup = null;
+    String instanceId = null;
     if (activity instanceof ReactInterface && options != null &&
             options.hasKey(SHARED_ELEMENT_TRANSITION_GROUP_OPTION)) {
-      ReactRootView reactRootView = ((ReactInterface) activity).getReactRootView();
-      transitionGroup = ViewUtils.findViewGroupWithTag(
-              reactRootView,
-              R.id.react_shared_element_group_id,
+      instanceId = ((ReactInterface) activity).getInstanceId();
+      transitionGroup = coordinator.getSharedElementIndex().findGroup(
+              instanceId,
               options.getString(SHARED_ELEMENT_TRANSITION_GROUP_OPTION));
     }
 
@@ -77,27 +82,30 @@ public final class ReactNativeIntents {
       return ActivityOptionsCompat.makeSceneTransitionAnimation(activity).toBundle();
     } else {
       ReactNativeUtils.setIsSharedElementTransition(intent);
-      return AutoSharedElementCallback.getActivityOptionsBundle(activity, transitionGroup);
+      return AutoSharedElementCallback.getActivityOptionsBundle(
+              activity, instanceId, transitionGroup);
     }
   }
 
-  static Intent pushIntent(Context context, String moduleName, @Nullable Bundle props) {
+  /** {@code spilledProps} are props that have already been through the spill store. */
+  static Intent pushIntent(Context context, String moduleName, @Nullable Bundle spilledProps) {
     Class destClass = coordinator.getOrDefault(moduleName).mode.getPushActivityClass();
     return new Intent(context, destClass)
-            .putExtras(intentExtras(moduleName, props));
+            .putExtras(intentExtras(moduleName, spilledProps));
   }
 
+  /** {@code spilledProps} are props that have already been through the spill store. */
   static Intent presentIntent(
-          Context context, String moduleName, @Nullable Bundle props) {
+          Context context, String moduleName, @Nullable Bundle spilledProps) {
     Class destClass = coordinator.getOrDefault(moduleName).mode.getPresentActivityClass();
     return new Intent(context, destClass)
-            .putExtras(intentExtras(moduleName, props));
+            .putExtras(intentExtras(moduleName, spilledProps));
   }
 
-  private static Bundle intentExtras(String moduleName, @Nullable Bundle props) {
+  private static Bundle intentExtras(String moduleName, @Nullable Bundle spilledProps) {
     return new BundleBuilder()
             .putString(EXTRA_MODULE_NAME, moduleName)
-            .putBundle(EXTRA_PROPS, props)
+            .putBundle(EXTRA_PROPS, spilledProps)
             .toBundle();
   }
 }
@@ -1,12 +1,15 @@
 package com.airbnb.android.react.navigation;
 
 import android.os.Bundle;
+import android.os.Looper;
+import android.os.MessageQueue;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.design.widget.BottomNavigationView;
 import android.support.v4.app.Fragment;
 import android.support.v4.util.ArrayMap;
 import android.util.Log;
+import android.util.SparseArray;
 import android.view.Menu;
 import android.view.MenuItem;
 import android.view.View;
@@ -16,32 +19,51 @@ import android.view.ViewTreeObserver;
 import com.airbnb.android.R;
 import com.facebook.react.bridge.ReadableMap;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Stack;
+import java.util.Set;
 
 public class ReactNativeTabActivity extends ReactAwareActivity
         implements ScreenCoordinatorComponent, BottomNavigationView.OnNavigationItemSelectedListener {
   private static final String TAG = ReactNativeTabActivity.class.getSimpleName();
 
-  private ViewGroup.OnHierarchyChangeListener reactViewChangeListener = new ViewGroup.OnHierarchyChangeListener() {
+  private final TabConfigChangeListener tabConfigChangeListener = new TabConfigChangeListener() {
     @Override
-    public void onChildViewAdded(View parent, View child) {
-      Log.d(TAG, "onChildViewAdded");
-      if (child instanceof ViewGroup) {
-        Log.d(TAG, "onChildViewAdded: adding child listener");
-        // onChildViewAdded is a shallow listener, so we want to recursively listen
-        // to all children that are ViewGroups as well. For a tab scene, the view
-        // hierarchy should not be very deep, so this seems okay to me. We should be
-        // careful though.
-        ((ViewGroup)child).setOnHierarchyChangeListener(reactViewChangeListener);
-      }
+    public void onTabBarAttached(TabBarView tabBar) {
+      tabBarViews.add(tabBar);
+      // The bar's config is combined from all of them, so any of them coming or going changes it.
+      isTabBarDirty = true;
+      isTabStructureDirty = true;
+      debouncedRefreshTabs();
+    }
+
+    @Override
+    public void onTabBarDetached(TabBarView tabBar) {
+      tabBarViews.remove(tabBar);
+      isTabBarDirty = true;
+      isTabStructureDirty = true;
       debouncedRefreshTabs();
     }
 
     @Override
-    public void onChildViewRemoved(View parent, View child) {
-      Log.d(TAG, "onChildViewRemoved");
-      // TODO(lmr): is there any reason we would need to clean up the onHierarchyChangeListener here?
+    public void onTabsChanged(TabBarView tabBar) {
+      isTabStructureDirty = true;
+      debouncedRefreshTabs();
+    }
+
+    @Override
+    public void onTabConfigChanged(TabView tab) {
+      changedTabs.add(tab);
+      debouncedRefreshTabs();
+    }
+
+    @Override
+    public void onTabBarConfigChanged(TabBarView tabBar) {
+      isTabBarDirty = true;
       debouncedRefreshTabs();
     }
   };
@@ -50,9 +72,36 @@ public class ReactNativeTabActivity extends ReactAwareActivity
   private ReactBottomNavigation bottomNavigationView;
   private ViewGroup tabConfigContainer;
   private boolean tabViewsIsDirty = false;
+  // Whether tabs may have been added, removed or moved, as opposed to only changing their configs
+  private boolean isTabStructureDirty = false;
+  private boolean isTabBarDirty = false;
+  private final Set<TabView> changedTabs = new HashSet<>();
   private Map<Integer, TabView> tabViews = new ArrayMap<>();
-  private ReadableMap prevTabBarConfig = ConversionUtil.EMPTY_MAP;
+  private final List<TabBarView> tabBarViews = new ArrayList<>();
+  // The configs the bottom navigation currently reflects
+  private final SparseArray<ReadableMap> renderedTabConfigs = new SparseArray<>();
   private ReadableMap renderedTabBarConfig = ConversionUtil.EMPTY_MAP;
+  private boolean hasPreparedTabs = false;
+  private final Deque<TabView> tabsToPrewarm = new ArrayDeque<>();
+
+  private final Runnable startPrewarming = new Runnable() {
+    @Override
+    public void run() {
+      // Called while the first tab is being drawn, so we wait for the main thread to go idle.
+      Looper.myQueue().addIdleHandler(prewarmIdleHandler);
+    }
+  };
+
+  private final MessageQueue.IdleHandler prewarmIdleHandler = new MessageQueue.IdleHandler() {
+    @Override
+    public boolean queueIdle() {
+      TabView tab = tabsToPrewarm.pollFirst();
+      if (tab != null) {
+        prewarmTab(tab);
+      }
+      return !tabsToPrewarm.isEmpty();
+    }
+  };
 
   @Override
   protected void onCreate(@Nullable Bundle savedInstanceState) {
@@ -61,9 +110,11 @@ public class ReactNativeTabActivity extends ReactAwareActivity
     bottomNavigationView = (ReactBottomNavigation) findViewById(R.id.bottom_navigation);
     bottomNavigationView.setOnNavigationItemSelectedListener(this);
     tabConfigContainer = (ViewGroup) findViewById(R.id.tab_config_container);
-    tabConfigContainer.setOnHierarchyChangeListener(reactViewChangeListener);
+    // Tab bars rendered by the tab screen register themselves with this listener.
+    tabConfigContainer.setTag(R.id.react_tab_config_change_listener, tabConfigChangeListener);
     ScreenCoordinatorLayout container = (ScreenCoordinatorLayout) findViewById(R.id.content);
     tabCoordinator = new TabCoordinator(this, container, savedInstanceState);
+    tabCoordinator.setMaxLiveTabs(getMaxLiveTabs());
 
     ReactNativeFragment tabConfigFragment = ReactNativeFragment.newInstance("TabScreen", null);
     getSupportFragmentManager().beginTransaction()
@@ -71,6 +122,35 @@ public class ReactNativeTabActivity extends ReactAwareActivity
             .commitNow();
   }
 
+  /**
+   * How many tabs keep their screens mounted, including the one that is showing. The screens of the
+   * other tabs are saved and unmounted, and restored when their tab is selected again.
+   */
+  protected int getMaxLiveTabs() {
+    return 3;
+  }
+
+  /**
+   * When the tabs that aren't selected start rendering their root screens. Defaults to
+   * {@link TabLoadingPolicy#LAZY}; override to prewarm them.
+   */
+  protected TabLoadingPolicy getTabLoadingPolicy() {
+    return TabLoadingPolicy.LAZY;
+  }
+
+  @Override
+  protected void onDestroy() {
+    super.onDestroy();
+    Looper.myQueue().removeIdleHandler(prewarmIdleHandler);
+    tabsToPrewarm.clear();
+  }
+
+  @Override
+  protected void onSaveInstanceState(Bundle outState) {
+    super.onSaveInstanceState(outState);
+    tabCoordinator.onSaveInstanceState(outState);
+  }
+
   @Override
   public ScreenCoordinator getScreenCoordinator() {
     return tabCoordinator.getCurrentScreenCoordinator();
@@ -99,52 +179,83 @@ public class ReactNativeTabActivity extends ReactAwareActivity
     });
   }
 
+  /**
+   * Brings the bottom navigation up to date. The menu is only rebuilt when tabs were added, removed
+   * or moved; config changes are applied to the affected items (or the bar) in place.
+   */
   private void refreshTabs() {
     Log.d(TAG, "refreshTabs");
-    traverseTabs();
-    notifyTabsHaveChanged();
+    if (isTabStructureDirty) {
+      isTabStructureDirty = false;
+      List<Integer> prevTabIds = new ArrayList<>(tabViews.keySet());
+      collectTabs();
+      if (!prevTabIds.equals(new ArrayList<>(tabViews.keySet()))) {
+        notifyTabsHaveChanged();
+        return;
+      }
+    }
+    Menu menu = bottomNavigationView.getMenu();
+    if (isTabBarDirty) {
+      reconcileTabBar(menu);
+    }
+    for (TabView tab : changedTabs) {
+      MenuItem item = menu.findItem(tab.getId());
+      ReadableMap prev = renderedTabConfigs.get(tab.getId());
+      if (item == null || prev == null) {
+        // The tab isn't on the bar yet.
+        continue;
+      }
+      getImplementation().reconcileTabItem(
+              bottomNavigationView,
+              item,
+              prev,
+              tab.getRenderedConfig()
+      );
+      renderedTabConfigs.put(tab.getId(), tab.getRenderedConfig());
+    }
+    changedTabs.clear();
   }
 
-  private void traverseTabs() {
-    Stack<ViewGroup> stack = new Stack<>();
-    stack.push(tabConfigContainer);
-
-    prevTabBarConfig = renderedTabBarConfig;
-    renderedTabBarConfig = ConversionUtil.EMPTY_MAP;
+  /** Collects the tabs of the attached tab bars, which are their direct children. */
+  private void collectTabs() {
     tabViews = new ArrayMap<>();
-
-    while (!stack.empty()) {
-      ViewGroup view = stack.pop();
-      int childCount = view.getChildCount();
+    for (TabBarView tabBarView : tabBarViews) {
+      int childCount = tabBarView.getChildCount();
       for (int i = 0; i < childCount; ++i) {
-        View child = view.getChildAt(i);
-
+        View child = tabBarView.getChildAt(i);
         if (child instanceof TabView) {
           tabViews.put(child.getId(), (TabView) child);
-        } else if (child instanceof TabBarView) {
-          TabBarView tabBarView = (TabBarView) child;
-          renderedTabBarConfig = ConversionUtil.combine(renderedTabBarConfig, tabBarView.getConfig());
-          stack.push(tabBarView);
-        } else if (child instanceof ViewGroup) {
-          stack.push((ViewGroup) child);
         }
       }
     }
+    changedTabs.retainAll(tabViews.values());
   }
 
-  private void notifyTabsHaveChanged() {
-    Log.d(TAG, "notifyTabsHaveChanged");
-    Menu menu = bottomNavigationView.getMenu();
-
+  private void reconcileTabBar(Menu menu) {
+    isTabBarDirty = false;
+    ReadableMap prevTabBarConfig = renderedTabBarConfig;
+    renderedTabBarConfig = ConversionUtil.EMPTY_MAP;
+    for (TabBarView tabBarView : tabBarViews) {
+      renderedTabBarConfig = ConversionUtil.combine(renderedTabBarConfig, tabBarView.getConfig());
+    }
     getImplementation().reconcileTabBarProperties(
             bottomNavigationView,
             menu,
             prevTabBarConfig,
             renderedTabBarConfig
     );
+  }
+
+  private void notifyTabsHaveChanged() {
+    Log.d(TAG, "notifyTabsHaveChanged");
+    Menu menu = bottomNavigationView.getMenu();
+
+    reconcileTabBar(menu);
 
     menu.clear();
     bottomNavigationView.clearIconHolders();
+    renderedTabConfigs.clear();
+    changedTabs.clear();
 
     int index = 0;
     for (TabView tab : tabViews.values()) {
@@ -155,13 +266,74 @@ public class ReactNativeTabActivity extends ReactAwareActivity
               tab.getId(),
               tab.getRenderedConfig()
       );
+      renderedTabConfigs.put(tab.getId(), tab.getRenderedConfig());
       index++;
     }
 
     if (tabViews.size() > 0) {
       TabView view = tabViews.values().iterator().next();
+      boolean isPreparingTabs = !hasPreparedTabs;
+      if (isPreparingTabs) {
+        prepareTabs(view);
+      }
       tabCoordinator.showTab(view.getFragment(), view.getId());
+      if (isPreparingTabs && !tabsToPrewarm.isEmpty()) {
+        prewarmAfterFirstRender();
+      }
+    }
+  }
+
+  /**
+   * Prepares the tabs other than {@code firstTab} according to {@link #getTabLoadingPolicy()}, the
+   * first time the tabs are known. Only as many as are kept alive are prepared, nearest first.
+   */
+  private void prepareTabs(TabView firstTab) {
+    hasPreparedTabs = true;
+    TabLoadingPolicy policy = getTabLoadingPolicy();
+    if (policy == TabLoadingPolicy.LAZY) {
+      return;
+    }
+    for (TabView tab : tabViews.values()) {
+      if (tabsToPrewarm.size() >= getMaxLiveTabs() - 1) {
+        break;
+      }
+      if (tab != firstTab && !tab.hasFragment() && !tabCoordinator.hasTab(tab.getId())) {
+        tabsToPrewarm.add(tab);
+      }
+    }
+    if (policy == TabLoadingPolicy.EAGER) {
+      while (!tabsToPrewarm.isEmpty()) {
+        prewarmTab(tabsToPrewarm.pollFirst());
+      }
+    }
+  }
+
+  /**
+   * Prewarms the tabs left in {@link #tabsToPrewarm}, one per main thread idle pass, once the screen
+   * showing in the current tab has rendered. That screen may have been restored along with its tab
+   * rather than created from {@link TabView#getFragment()}.
+   */
+  private void prewarmAfterFirstRender() {
+    ScreenCoordinator coordinator = tabCoordinator.getCurrentScreenCoordinator();
+    Fragment shown = coordinator == null ? null : coordinator.getTopFragment();
+    if (shown instanceof ReactNativeFragment) {
+      ((ReactNativeFragment) shown).runAfterFirstRender(startPrewarming);
+    } else {
+      startPrewarming.run();
+    }
+  }
+
+  /**
+   * Starts rendering the root screen of {@code tab} offscreen, so that the fragment created for it
+   * when it is selected can adopt the rendered view.
+   */
+  private void prewarmTab(TabView tab) {
+    if (tab.hasFragment() || tab.getRoute() == null) {
+      return;
     }
+    Log.d(TAG, "prewarmTab: " + tab.getRoute());
+    ReactNavigationCoordinator.sharedInstance.getReactRootViewPool()
+        .preload(tab.getRoute(), tab.getProps());
   }
 
   @Override
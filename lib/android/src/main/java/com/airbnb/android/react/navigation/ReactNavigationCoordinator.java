@@ -7,30 +7,36 @@ import android.content.Intent;
 import android.os.Build;
 import android.os.Handler;
 import android.os.Looper;
+import android.os.SystemClock;
 import android.provider.Settings;
+import android.util.Log;
 import android.widget.Toast;
 import com.facebook.react.ReactInstanceManager;
 import com.facebook.react.bridge.ReactContext;
 import com.facebook.react.bridge.ReadableMap;
 
-import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 class ReactScreenConfig {
-  ReadableMap initialConfig;
-  boolean waitForRender;
-  ReactScreenMode mode;
+  final ScreenConfig initialConfig;
+  final boolean waitForRender;
+  final ReactScreenMode mode;
 
   static final ReactScreenConfig EMPTY = new ReactScreenConfig(
-      ConversionUtil.EMPTY_MAP,
+      ScreenConfig.EMPTY,
       true,
       ReactScreenMode.SCREEN
   );
 
   ReactScreenConfig(
-      ReadableMap initialConfig,
+      ScreenConfig initialConfig,
       boolean waitForRender,
       ReactScreenMode mode
   ) {
@@ -42,12 +48,22 @@ class ReactScreenConfig {
 }
 
 public class ReactNavigationCoordinator {
+  private static final String TAG = ReactNavigationCoordinator.class.getSimpleName();
   public static ReactNavigationCoordinator sharedInstance = new ReactNavigationCoordinator();
 
   private ReactInstanceManager reactInstanceManager;
   private NavigationImplementation navigationImplementation = new DefaultNavigationImplementation();
+  private final ReactRootViewPool rootViewPool = new ReactRootViewPool(this);
+  private final IconCache iconCache = new IconCache();
+  private final PropsStore propsStore = new PropsStore();
+  private final PropsSpillStore propsSpillStore = new PropsSpillStore();
+  private final SharedElementIndex sharedElementIndex = new SharedElementIndex();
+  private final List<NavigationMetricsListener> metricsListeners = new CopyOnWriteArrayList<>();
+  private final AtomicInteger droppedScreenPropertiesUpdates = new AtomicInteger();
   private boolean isSuccessfullyInitialized = false;
   private static final int APP_INITIALIZE_TOAST_DELAY = 3000;
+  private static final int DEFAULT_RENDER_TIMEOUT_IN_MS = 1700;
+  private int defaultRenderTimeout = DEFAULT_RENDER_TIMEOUT_IN_MS;
 
 
   private ReactNavigationCoordinator() {
@@ -68,6 +84,7 @@ public class ReactNavigationCoordinator {
         public void onReactContextInitialized(ReactContext context) {
           reactInstanceManager.removeReactInstanceEventListener(this);
           isSuccessfullyInitialized = true;
+          rootViewPool.onReactContextInitialized(context);
         }
       });
   }
@@ -86,9 +103,86 @@ public class ReactNavigationCoordinator {
     return isSuccessfullyInitialized;
   }
 
+  public ReactRootViewPool getReactRootViewPool() {
+    return rootViewPool;
+  }
+
+  IconCache getIconCache() {
+    return iconCache;
+  }
+
+  PropsStore getPropsStore() {
+    return propsStore;
+  }
+
+  PropsSpillStore getPropsSpillStore() {
+    return propsSpillStore;
+  }
+
+  SharedElementIndex getSharedElementIndex() {
+    return sharedElementIndex;
+  }
+
+  /**
+   * Marks the provided screens as "hot". Once they are registered from JS, their React application
+   * will be started ahead of time while the main thread is idle, so that pushing or presenting them
+   * without props can skip straight to the transition.
+   */
+  public void setHotScreens(Collection<String> screenNames) {
+    rootViewPool.setHotScreens(screenNames);
+  }
+
+  public void addNavigationMetricsListener(NavigationMetricsListener listener) {
+    metricsListeners.add(listener);
+  }
+
+  public void removeNavigationMetricsListener(NavigationMetricsListener listener) {
+    metricsListeners.remove(listener);
+  }
+
+  boolean hasNavigationMetricsListeners() {
+    return !metricsListeners.isEmpty();
+  }
+
+  void reportNavigationEvent(
+      NavigationMetricsListener.Event event, String instanceId, String screenName) {
+    if (!metricsListeners.isEmpty()) {
+      reportNavigationEvent(event, instanceId, screenName, SystemClock.uptimeMillis());
+    }
+  }
+
+  void reportNavigationEvent(
+      NavigationMetricsListener.Event event, String instanceId, String screenName, long time) {
+    for (NavigationMetricsListener listener : metricsListeners) {
+      listener.onNavigationEvent(event, instanceId, screenName, time);
+    }
+  }
+
+  /**
+   * Number of {@code setScreenProperties} updates from JS that were never applied, because a newer
+   * update for the same screen arrived before the next frame. A high count usually means a screen's
+   * config is being driven by something like a scroll position.
+   */
+  public int getDroppedScreenPropertiesUpdateCount() {
+    return droppedScreenPropertiesUpdates.get();
+  }
+
+  void recordDroppedScreenPropertiesUpdate() {
+    droppedScreenPropertiesUpdates.incrementAndGet();
+  }
+
   public void injectExposedActivities(List<ReactExposedActivityParams> exposedActivities) {
     // TODO(lmr): would it make sense to warn or throw here if it's already set?
-    this.exposedActivities = exposedActivities;
+    Map<String, ReactExposedActivityParams> index = new HashMap<>(exposedActivities.size() * 2);
+    for (ReactExposedActivityParams exposedActivity : exposedActivities) {
+      if (index.containsKey(exposedActivity.key())) {
+        // The first one has always won, so keep it that way.
+        Log.w(TAG, "Activity key '" + exposedActivity.key() + "' was exposed more than once");
+        continue;
+      }
+      index.put(exposedActivity.key(), exposedActivity);
+    }
+    this.exposedActivities = index;
   }
 
   /**
@@ -96,10 +190,12 @@ public class ReactNavigationCoordinator {
    * generates this map based off of the `ReactExposedActivity` annotations. For now, this should
    * work well enough in the interim.
    */
-  private List<ReactExposedActivityParams> exposedActivities;
-  private final Map<String /* instance id */, WeakReference<ReactInterface>> componentsMap = new HashMap<>();
-  private final Map<String /* instance id */, Boolean> dismissCloseBehaviorMap = new HashMap<>();
-  private final Map<String /* name */, ReactScreenConfig> screenMap = new HashMap<>();
+  private volatile Map<String /* key */, ReactExposedActivityParams> exposedActivities =
+      Collections.emptyMap();
+  private final ComponentRegistry components = new ComponentRegistry();
+  // Screens are registered from the native modules thread and looked up from the main thread.
+  private final Map<String /* name */, ReactScreenConfig> screenMap = new ConcurrentHashMap<>();
+  private final Map<String /* name */, Integer> renderTimeouts = new ConcurrentHashMap<>();
 
   ReactScreenConfig getOrDefault(String screenName) {
     ReactScreenConfig screen = screenMap.get(screenName);
@@ -110,11 +206,33 @@ public class ReactNavigationCoordinator {
   }
 
   public void registerComponent(ReactInterface component, String name) {
-    componentsMap.put(name, new WeakReference<>(component));
+    components.register(name, component);
   }
 
   public void unregisterComponent(String name) {
-    componentsMap.remove(name);
+    components.unregister(name);
+  }
+
+  /**
+   * Called when a component is gone for good (as opposed to just having its view destroyed), so
+   * that anything kept for it can be dropped once it's been garbage collected.
+   */
+  public void destroyComponent(String name) {
+    components.destroy(name);
+  }
+
+  /** Number of components (i.e. screens) that are currently registered. */
+  public int getLiveComponentCount() {
+    return components.getLiveCount();
+  }
+
+  /**
+   * Number of components that were destroyed but haven't been garbage collected. Components that
+   * simply haven't been collected yet are counted as well, so this is only meaningful right after
+   * a GC, or as a trend over a long session.
+   */
+  public int getLeakedComponentCount() {
+    return components.getLeakedCount();
   }
 
   /**
@@ -126,35 +244,31 @@ public class ReactNavigationCoordinator {
    * @see ReactExposedActivityParams#toIntent(Context, ReadableMap)
    */
   Intent intentForKey(Context context, String key, ReadableMap arguments) {
-    for (ReactExposedActivityParams exposedActivity : exposedActivities) {
-      if (exposedActivity.key().equals(key)) {
-        return exposedActivity.toIntent(context, arguments);
-      }
+    ReactExposedActivityParams exposedActivity = exposedActivities.get(key);
+    if (exposedActivity != null) {
+      return exposedActivity.toIntent(context, arguments);
     }
     throw new IllegalArgumentException(
         String.format("Tried to push Activity with key '%s', but it could not be found", key));
   }
 
   ReactAwareActivityFacade activityFromId(String id) {
-    WeakReference<ReactInterface> ref = componentsMap.get(id);
-    return ref == null ? null : (ReactAwareActivityFacade) ref.get().getActivity();
+    ReactInterface component = components.get(id);
+    return component == null ? null : (ReactAwareActivityFacade) component.getActivity();
   }
 
   ReactInterface componentFromId(String id) {
-    WeakReference<ReactInterface> ref = componentsMap.get(id);
-    return ref == null ? null : ref.get();
+    return components.get(id);
   }
 
   // If set to true, the Activity will be dismissed when its Toolbar NavigationIcon (home button) is clicked,
   // instead of performing the default behavior (finish)
   public void setDismissCloseBehavior(String id, boolean dismissClose) {
-    dismissCloseBehaviorMap.put(id, dismissClose);
+    components.setDismissCloseBehavior(id, dismissClose);
   }
 
   public boolean getDismissCloseBehavior(ReactInterface reactInterface) {
-    String id = reactInterface.getInstanceId();
-    Boolean dismissClose = dismissCloseBehaviorMap.get(id);
-    return dismissClose != null && dismissClose;
+    return components.getDismissCloseBehavior(reactInterface.getInstanceId());
   }
 
   public void registerScreen(
@@ -164,21 +278,50 @@ public class ReactNavigationCoordinator {
       String mode
   ) {
     screenMap.put(screenName, new ReactScreenConfig(
-        initialConfig,
+        ScreenConfig.fromMap(initialConfig),
         waitForRender,
         ReactScreenMode.fromString(mode)
     ));
+    rootViewPool.schedulePrewarm();
+  }
+
+  /**
+   * Sets the longest time a screen will hold its enter transition while waiting for its first
+   * render, for screens that don't have their own timeout set.
+   */
+  public void setDefaultRenderTimeout(int timeoutMs) {
+    defaultRenderTimeout = timeoutMs;
+  }
+
+  /**
+   * Sets the longest time {@code screenName} will hold its enter transition while waiting for its
+   * first render.
+   */
+  public void setRenderTimeout(String screenName, int timeoutMs) {
+    renderTimeouts.put(screenName, timeoutMs);
+  }
+
+  int getRenderTimeout(String screenName) {
+    Integer timeout = renderTimeouts.get(screenName);
+    return timeout == null ? defaultRenderTimeout : timeout;
+  }
+
+  boolean isScreenRegistered(String screenName) {
+    return screenMap.containsKey(screenName);
   }
 
 //  public void setInitialConfigForModuleName(String screenName, ReadableMap config) {
 //    screenMap.put(screenName, config);
 //  }
 
-  public ReadableMap getInitialConfigForModuleName(String screenName) {
+  public ScreenConfig getInitialConfigForModuleName(String screenName) {
     return getOrDefault(screenName).initialConfig;
   }
 
   public void start(final Application application) {
+    application.registerComponentCallbacks(rootViewPool);
+    application.registerComponentCallbacks(iconCache);
+    propsSpillStore.setCacheDirectory(application.getCacheDir());
     if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M && !Settings.canDrawOverlays(application)) {
       handleOverlayPermissionsMissing(application);
       return;
@@ -0,0 +1,468 @@
+package com.airbnb.android.react.navigation;
+
+import android.app.Activity;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.support.annotation.Nullable;
+import android.util.DisplayMetrics;
+import android.util.Log;
+import android.util.TypedValue;
+import android.view.View;
+
+import com.airbnb.android.R;
+import com.facebook.react.ReactInstanceManager;
+import com.facebook.react.ReactRootView;
+
+import java.lang.reflect.Array;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps a small number of {@link ReactRootView}s ready so that a {@link ReactNativeFragment} being
+ * pushed or presented doesn't have to inflate one from scratch. Views are created on the main
+ * thread's {@link MessageQueue.IdleHandler}, one per idle pass, so that filling the pool never
+ * competes with a frame that is being drawn.
+ *
+ * Screens marked as "hot" with {@link ReactNavigationCoordinator#setHotScreens(Collection)} go one
+ * step further: their React application is started ahead of time, so that pushing them without
+ * props hands out a view that has already been mounted by JS.
+ *
+ * Screens can also be preloaded with specific props through {@link #preload(String, Bundle)}
+ * (usually from {@code Navigator.preload()} in JS). Those are kept in a small LRU keyed by screen
+ * name and props, and are evicted when the system asks us to trim memory.
+ *
+ * Views are created with the activity that was resumed last as their context (React Native's views
+ * inherit its theme), and are only handed out to screens in that same activity. JS may set the
+ * config of a pre-mounted screen before any fragment has claimed it, so the latest one is kept here
+ * until the fragment that adopts the view picks it up.
+ *
+ * All methods must be called on the main thread unless noted otherwise.
+ */
+public class ReactRootViewPool implements ComponentCallbacks2 {
+  private static final String TAG = ReactRootViewPool.class.getSimpleName();
+  private static final String INSTANCE_ID_PROP = "nativeNavigationInstanceId";
+  private static final String INITIAL_BAR_HEIGHT_PROP = "nativeNavigationInitialBarHeight";
+  // Tells JS the screen isn't showing yet, so `onAppear` is left to the fragment that adopts it.
+  private static final String PREMOUNTED_PROP = "nativeNavigationPremounted";
+  private static final int DEFAULT_MAX_SIZE = 2;
+  private static final int DEFAULT_MAX_PRELOADED_SIZE = 3;
+
+  // An incrementing ID to identify each pre-mounted screen (used in `instanceId`)
+  private static int UUID = 1;
+
+  /** A {@link ReactRootView} that has already been started for a given screen. */
+  static class MountedRootView {
+    final String instanceId;
+    final ReactRootView view;
+    /** The bar height JS was started with, in dp. */
+    final float initialBarHeight;
+
+    MountedRootView(String instanceId, ReactRootView view, float initialBarHeight) {
+      this.instanceId = instanceId;
+      this.view = view;
+      this.initialBarHeight = initialBarHeight;
+    }
+  }
+
+  private final ReactNavigationCoordinator coordinator;
+  private final Handler handler = new Handler(Looper.getMainLooper());
+  private final Deque<ReactRootView> warmViews = new ArrayDeque<>();
+  private final Map<String /* screen name */, MountedRootView> mountedViews = new HashMap<>();
+  private final Set<String> hotScreens = new LinkedHashSet<>();
+  private final LinkedHashMap<String /* screen name and props */, MountedRootView> preloadedViews =
+      new LinkedHashMap<String, MountedRootView>(DEFAULT_MAX_PRELOADED_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, MountedRootView> eldest) {
+          if (size() > maxPreloadedSize) {
+            Log.d(TAG, "evicting preloaded screen: " + eldest.getValue().instanceId);
+            unmount(eldest.getValue());
+            return true;
+          }
+          return false;
+        }
+      };
+  // The latest config JS has set for each pre-mounted screen that hasn't been adopted yet
+  private final Map<String /* instance id */, ScreenConfig> pendingConfigs = new HashMap<>();
+  private final MessageQueue.IdleHandler idleHandler = new MessageQueue.IdleHandler() {
+    @Override
+    public boolean queueIdle() {
+      boolean hasMoreWork = prewarmNext();
+      if (!hasMoreWork) {
+        isPrewarmScheduled = false;
+      }
+      return hasMoreWork;
+    }
+  };
+  private final Runnable schedulePrewarmRunnable = new Runnable() {
+    @Override
+    public void run() {
+      if (!isPrewarmScheduled && context != null && activity != null) {
+        isPrewarmScheduled = true;
+        Looper.myQueue().addIdleHandler(idleHandler);
+      }
+    }
+  };
+
+  private Context context;
+  // The activity new views are created for
+  @Nullable private Activity activity;
+  private int maxSize = DEFAULT_MAX_SIZE;
+  private int maxPreloadedSize = DEFAULT_MAX_PRELOADED_SIZE;
+  private boolean isPrewarmScheduled = false;
+
+  ReactRootViewPool(ReactNavigationCoordinator coordinator) {
+    this.coordinator = coordinator;
+  }
+
+  /**
+   * Sets the number of un-mounted {@link ReactRootView}s to keep around. Pre-mounted hot screens
+   * are not counted against this.
+   */
+  public void setMaxSize(int maxSize) {
+    this.maxSize = maxSize;
+    while (warmViews.size() > maxSize) {
+      warmViews.removeLast();
+    }
+  }
+
+  /** Sets the number of screens preloaded through {@link #preload(String, Bundle)} to keep. */
+  public void setMaxPreloadedSize(int maxPreloadedSize) {
+    this.maxPreloadedSize = maxPreloadedSize;
+    evictPreloaded(maxPreloadedSize);
+  }
+
+  void setHotScreens(Collection<String> screenNames) {
+    hotScreens.clear();
+    hotScreens.addAll(screenNames);
+    for (String screenName : mountedViews.keySet().toArray(new String[mountedViews.size()])) {
+      if (!hotScreens.contains(screenName)) {
+        unmount(mountedViews.remove(screenName));
+      }
+    }
+    schedulePrewarm();
+  }
+
+  /** Called once the React context is ready. Views are only ever created after this. */
+  void onReactContextInitialized(Context context) {
+    this.context = context.getApplicationContext();
+    schedulePrewarm();
+  }
+
+  /**
+   * Called when a {@link ReactAwareActivity} is resumed. Views are created for the activity that
+   * was resumed last from then on.
+   */
+  void onActivityResumed(Activity activity) {
+    if (this.activity != activity) {
+      this.activity = activity;
+      // Un-started views are cheap to make again, and are of no use to any other activity.
+      warmViews.clear();
+    }
+    schedulePrewarm();
+  }
+
+  /** Called when a {@link ReactAwareActivity} is destroyed, to let go of the views made for it. */
+  void onActivityDestroyed(Activity activity) {
+    if (this.activity == activity) {
+      this.activity = null;
+      warmViews.clear();
+    }
+    Iterator<MountedRootView> iterator = mountedViews.values().iterator();
+    while (iterator.hasNext()) {
+      MountedRootView mounted = iterator.next();
+      if (mounted.view.getContext() == activity) {
+        unmount(mounted);
+        iterator.remove();
+      }
+    }
+    iterator = preloadedViews.values().iterator();
+    while (iterator.hasNext()) {
+      MountedRootView mounted = iterator.next();
+      if (mounted.view.getContext() == activity) {
+        unmount(mounted);
+        iterator.remove();
+      }
+    }
+  }
+
+  /** Schedules the pool to be refilled the next time the main thread is idle. Thread safe. */
+  void schedulePrewarm() {
+    handler.post(schedulePrewarmRunnable);
+  }
+
+  /**
+   * Returns a {@link ReactRootView} for {@code activity} that has not been started yet, or null if
+   * the pool doesn't have one.
+   */
+  @Nullable
+  ReactRootView acquire(Activity activity) {
+    if (activity != this.activity) {
+      return null;
+    }
+    ReactRootView view = warmViews.pollFirst();
+    if (view != null) {
+      schedulePrewarm();
+    }
+    return view;
+  }
+
+  /**
+   * Starts the React application for {@code screenName} offscreen, so that a subsequent push or
+   * present of the same screen with equal {@code props} can use the already rendered view.
+   */
+  void preload(String screenName, @Nullable Bundle props) {
+    if (context == null || activity == null || !coordinator.isSuccessfullyInitialized()) {
+      Log.d(TAG, "preload: no React context or activity yet, ignoring " + screenName);
+      return;
+    }
+    if (!coordinator.isScreenRegistered(screenName)) {
+      Log.w(TAG, "preload: " + screenName + " is not a registered screen");
+      return;
+    }
+    String key = keyFor(screenName, props);
+    if (preloadedViews.get(key) == null) {
+      preloadedViews.put(key, mount(screenName, props));
+    }
+  }
+
+  /**
+   * Returns a {@link ReactRootView} that has already been started for {@code screenName} with
+   * {@code props}, or null if there isn't one. The caller must use the returned {@code instanceId}
+   * for the screen, pick up its config with {@link #takePendingConfig(String)} once it is
+   * registered, and {@link #discard(MountedRootView)} it if it ends up not being shown (e.g. because
+   * it was mounted for a different activity).
+   */
+  @Nullable
+  MountedRootView acquireMounted(String screenName, @Nullable Bundle props) {
+    MountedRootView mounted = preloadedViews.remove(keyFor(screenName, props));
+    if (mounted == null && (props == null || props.isEmpty())) {
+      mounted = mountedViews.remove(screenName);
+      if (mounted != null) {
+        schedulePrewarm();
+      }
+    }
+    if (mounted != null) {
+      Log.d(TAG, "acquireMounted: " + mounted.instanceId);
+    }
+    return mounted;
+  }
+
+  /**
+   * Keeps {@code config} for the pre-mounted screen {@code instanceId}, if it is one that hasn't
+   * been adopted yet. Returns whether it was kept.
+   */
+  boolean setPendingConfig(String instanceId, ScreenConfig config) {
+    if (!pendingConfigs.containsKey(instanceId)) {
+      return false;
+    }
+    pendingConfigs.put(instanceId, config);
+    return true;
+  }
+
+  /**
+   * Returns the latest config JS has set for the pre-mounted screen {@code instanceId} (if any),
+   * and stops keeping configs for it.
+   */
+  @Nullable
+  ScreenConfig takePendingConfig(String instanceId) {
+    return pendingConfigs.remove(instanceId);
+  }
+
+  /** Unmounts a view handed out by {@link #acquireMounted(String, Bundle)} that won't be shown. */
+  void discard(MountedRootView mounted) {
+    Log.d(TAG, "discard: " + mounted.instanceId);
+    unmount(mounted);
+  }
+
+  void clear() {
+    warmViews.clear();
+    for (MountedRootView mounted : mountedViews.values()) {
+      unmount(mounted);
+    }
+    mountedViews.clear();
+    evictPreloaded(0);
+  }
+
+  private void evictPreloaded(int maxSize) {
+    Iterator<MountedRootView> iterator = preloadedViews.values().iterator();
+    while (preloadedViews.size() > maxSize && iterator.hasNext()) {
+      unmount(iterator.next());
+      iterator.remove();
+    }
+  }
+
+  @Override
+  public void onTrimMemory(int level) {
+    Log.d(TAG, "onTrimMemory: " + level);
+    if (level >= TRIM_MEMORY_MODERATE || level == TRIM_MEMORY_RUNNING_CRITICAL) {
+      clear();
+    } else if (level >= TRIM_MEMORY_RUNNING_LOW) {
+      evictPreloaded(0);
+    }
+  }
+
+  @Override
+  public void onLowMemory() {
+    clear();
+  }
+
+  @Override
+  public void onConfigurationChanged(Configuration newConfig) {
+  }
+
+  /**
+   * Does a single unit of work towards filling the pool. Returns whether there is more work left
+   * to do.
+   */
+  private boolean prewarmNext() {
+    if (context == null || activity == null || !coordinator.isSuccessfullyInitialized()) {
+      return false;
+    }
+    String screenName = nextHotScreenToMount();
+    if (screenName != null) {
+      MountedRootView previous = mountedViews.put(screenName, mount(screenName, null));
+      if (previous != null) {
+        // It was mounted for another activity.
+        unmount(previous);
+      }
+    } else if (warmViews.size() < maxSize) {
+      warmViews.addLast(new ReactRootView(activity));
+    }
+    return nextHotScreenToMount() != null || warmViews.size() < maxSize;
+  }
+
+  @Nullable
+  private String nextHotScreenToMount() {
+    for (String screenName : hotScreens) {
+      MountedRootView mounted = mountedViews.get(screenName);
+      if ((mounted == null || mounted.view.getContext() != activity)
+          && coordinator.isScreenRegistered(screenName)) {
+        return screenName;
+      }
+    }
+    return null;
+  }
+
+  private MountedRootView mount(String screenName, @Nullable Bundle initialProps) {
+    String instanceId = String.format(Locale.ENGLISH, "%1s_prewarm_%2$d", screenName, UUID++);
+    Log.d(TAG, "mount: " + instanceId);
+    float barHeight = getInitialBarHeight(activity);
+    Bundle props = initialProps == null ? new Bundle() : new Bundle(initialProps);
+    props.putString(INSTANCE_ID_PROP, instanceId);
+    props.putFloat(INITIAL_BAR_HEIGHT_PROP, barHeight);
+    props.putBoolean(PREMOUNTED_PROP, true);
+    pendingConfigs.put(instanceId, ScreenConfig.EMPTY);
+
+    ReactInstanceManager reactInstanceManager = coordinator.getReactInstanceManager();
+    ReactRootView view = new ReactRootView(activity);
+    view.startReactApplication(reactInstanceManager, screenName, props);
+    // ReactRootView only attaches to the instance manager (and runs the JS application) once it
+    // has been measured, so we measure it against the screen size while it is still offscreen.
+    DisplayMetrics metrics = activity.getResources().getDisplayMetrics();
+    view.measure(
+        View.MeasureSpec.makeMeasureSpec(metrics.widthPixels, View.MeasureSpec.EXACTLY),
+        View.MeasureSpec.makeMeasureSpec(metrics.heightPixels, View.MeasureSpec.EXACTLY));
+    return new MountedRootView(instanceId, view, barHeight);
+  }
+
+  private void unmount(MountedRootView mounted) {
+    mounted.view.unmountReactApplication();
+    pendingConfigs.remove(mounted.instanceId);
+  }
+
+  /**
+   * The bar height the default {@link NavigationImplementation} reports, in dp. The fragment that
+   * adopts the view tells JS if its implementation comes up with a different one.
+   */
+  private static float getInitialBarHeight(Activity activity) {
+    TypedValue typedValue = new TypedValue();
+    if (!activity.getTheme().resolveAttribute(R.attr.actionBarSize, typedValue, true)) {
+      return 0;
+    }
+    DisplayMetrics metrics = activity.getResources().getDisplayMetrics();
+    return TypedValue.complexToDimension(typedValue.data, metrics) / metrics.density;
+  }
+
+  /**
+   * Builds a key that is equal for equal screen names and props, regardless of the order in which
+   * the props were put in the {@link Bundle}. Every value is tagged with its type and every string
+   * is quoted, so that props that differ (e.g. {@code "1"} and {@code 1}) never share a key.
+   */
+  private static String keyFor(String screenName, @Nullable Bundle props) {
+    StringBuilder sb = new StringBuilder();
+    appendString(sb, screenName);
+    appendBundle(sb, props);
+    return sb.toString();
+  }
+
+  private static void appendBundle(StringBuilder sb, @Nullable Bundle bundle) {
+    if (bundle == null) {
+      sb.append("null");
+      return;
+    }
+    sb.append('{');
+    String[] keys = bundle.keySet().toArray(new String[bundle.size()]);
+    Arrays.sort(keys);
+    for (String key : keys) {
+      appendString(sb, key);
+      sb.append('=');
+      appendValue(sb, bundle.get(key));
+      sb.append(',');
+    }
+    sb.append('}');
+  }
+
+  private static void appendValue(StringBuilder sb, @Nullable Object value) {
+    if (value == null) {
+      sb.append("null");
+    } else if (value instanceof Bundle) {
+      appendBundle(sb, (Bundle) value);
+    } else if (value instanceof List) {
+      sb.append('[');
+      for (Object item : (List<?>) value) {
+        appendValue(sb, item);
+        sb.append(',');
+      }
+      sb.append(']');
+    } else if (value.getClass().isArray()) {
+      // Handles primitive arrays as well as object arrays.
+      sb.append(value.getClass().getComponentType().getName()).append('[');
+      int length = Array.getLength(value);
+      for (int i = 0; i < length; i++) {
+        appendValue(sb, Array.get(value, i));
+        sb.append(',');
+      }
+      sb.append(']');
+    } else {
+      sb.append(value.getClass().getName()).append(':');
+      appendString(sb, value.toString());
+    }
+  }
+
+  private static void appendString(StringBuilder sb, String value) {
+    sb.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        sb.append('\\');
+      }
+      sb.append(c);
+    }
+    sb.append('"');
+  }
+}
@@ -4,12 +4,13 @@ import android.content.Context;
 import android.graphics.drawable.Animatable;
 import android.graphics.drawable.Drawable;
 import android.net.Uri;
+import android.support.annotation.Nullable;
 import android.support.v7.widget.Toolbar;
 import android.util.AttributeSet;
 import android.view.Menu;
 import android.view.MenuInflater;
 import android.view.MenuItem;
-import com.facebook.react.bridge.ReadableType;
+import com.airbnb.android.R;
 import com.facebook.react.views.toolbar.DrawableWithIntrinsicSize;
 
 import com.facebook.drawee.backends.pipeline.Fresco;
@@ -22,10 +23,14 @@ import com.facebook.drawee.view.DraweeHolder;
 import com.facebook.drawee.view.MultiDraweeHolder;
 import com.facebook.imagepipeline.image.ImageInfo;
 import com.facebook.imagepipeline.image.QualityInfo;
-import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.uimanager.PixelUtil;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 // TODO(lmr): we might want to make this an abstract class and have a default implementation
 public class ReactToolbar extends Toolbar {
 
@@ -50,6 +55,23 @@ public class ReactToolbar extends Toolbar {
 
   private int foregroundColor;
 
+  // The menu items we have added for the screen's right buttons and right title, so that they can
+  // be updated in place instead of clearing and rebuilding the menu on every change.
+  @Nullable private Menu mMenu;
+  private final List<RightButton> mRightButtons = new ArrayList<>();
+  @Nullable private MenuItem mRightTitleItem;
+
+  private static class RightButton {
+    final MenuItem item;
+    Map<?, ?> config;
+    @Nullable DraweeHolder<GenericDraweeHierarchy> iconHolder;
+
+    RightButton(MenuItem item, Map<?, ?> config) {
+      this.item = item;
+      this.config = config;
+    }
+  }
+
   /**
    * Attaches specific icon width & height to a BaseControllerListener which will be used to
    * create the Drawable
@@ -59,6 +81,7 @@ public class ReactToolbar extends Toolbar {
     private final DraweeHolder mHolder;
 
     private IconImageInfo mIconImageInfo;
+    private String mCacheKey;
 
     public IconControllerListener(DraweeHolder holder) {
       mHolder = holder;
@@ -68,9 +91,16 @@ public class ReactToolbar extends Toolbar {
       mIconImageInfo = iconImageInfo;
     }
 
+    void setCacheKey(String cacheKey) {
+      mCacheKey = cacheKey;
+    }
+
     @Override
     public void onFinalImageSet(String id, ImageInfo imageInfo, Animatable animatable) {
       super.onFinalImageSet(id, imageInfo, animatable);
+      if (mCacheKey != null && imageInfo != null) {
+        getIconCache().put(mCacheKey, imageInfo);
+      }
 
       final ImageInfo info = mIconImageInfo != null ? mIconImageInfo : imageInfo;
       setDrawable(new DrawableWithIntrinsicSize(mHolder.getTopLevelDrawable(), info));
@@ -236,45 +266,152 @@ public class ReactToolbar extends Toolbar {
     setIconSource(source, mOverflowIconControllerListener, mOverflowIconHolder);
   }
 
-  /* package */ void setRightButtons(Menu menu, ReadableArray buttons, final ReactInterface component) {
-    mActionsHolder.clear();
+  /**
+   * Makes the menu show {@code buttons}, each a map with an optional {@code title}, {@code image}
+   * and {@code enabled}. Buttons are matched up with the items from the last call by index, and
+   * only the parts that changed are updated, so e.g. a new title doesn't reload a button's image.
+   */
+  /* package */ void setRightButtons(Menu menu, List<?> buttons, final ReactInterface component) {
+    forgetMenuItemsIfMenuChanged(menu);
     int length = buttons.size();
+    if (length != mRightButtons.size()) {
+      // Items can't be reordered once added, and their order depends on the number of buttons.
+      removeRightButtons();
+      for (int i = 0; i < length; i++) {
+        Map<?, ?> config = asMap(buttons.get(i));
+        // use `length - i` for ordering so the button ordering is consistent with iOS
+        MenuItem item = menu.add(
+            R.id.react_toolbar_right_buttons_group, Menu.NONE, length - i, getButtonTitle(config, i));
+        item.setShowAsAction(MenuItem.SHOW_AS_ACTION_IF_ROOM);
+        final Object data = i;
+        item.setOnMenuItemClickListener(new MenuItem.OnMenuItemClickListener() {
+          @Override
+          public boolean onMenuItemClick(MenuItem item) {
+            component.emitEvent("onRightPress", data);
+            return false;
+          }
+        });
+        RightButton button = new RightButton(item, config);
+        mRightButtons.add(button);
+        updateRightButton(button, null, i);
+      }
+      return;
+    }
     for (int i = 0; i < length; i++) {
-      ReadableMap button = buttons.getMap(i);
-
-      String title = button.hasKey("title") && button.getType("title") == ReadableType.String
-          ? button.getString("title")
-          : String.format("Item %s", i);
-
-      // use `length - i` for ordering so the button ordering is consistent with iOS
-      MenuItem item = menu.add(Menu.NONE, Menu.NONE, length - i, title);
+      RightButton button = mRightButtons.get(i);
+      Map<?, ?> previous = button.config;
+      button.config = asMap(buttons.get(i));
+      if (!button.config.equals(previous)) {
+        updateRightButton(button, previous, i);
+      }
+    }
+  }
 
-      if (button.hasKey("image")) {
-        setMenuItemIcon(item, button.getMap("image"));
+  /* package */ void setRightTitle(Menu menu, @Nullable String title, final ReactInterface component) {
+    forgetMenuItemsIfMenuChanged(menu);
+    if (title == null) {
+      if (mRightTitleItem != null) {
+        menu.removeGroup(R.id.react_toolbar_right_title_group);
+        mRightTitleItem = null;
       }
-      item.setShowAsAction(MenuItem.SHOW_AS_ACTION_IF_ROOM);
-      final Object data = i;
-      item.setOnMenuItemClickListener(new MenuItem.OnMenuItemClickListener() {
+    } else if (mRightTitleItem == null) {
+      mRightTitleItem = menu.add(R.id.react_toolbar_right_title_group, Menu.NONE, Menu.NONE, title);
+      mRightTitleItem.setShowAsAction(MenuItem.SHOW_AS_ACTION_IF_ROOM);
+      mRightTitleItem.setOnMenuItemClickListener(new MenuItem.OnMenuItemClickListener() {
         @Override
         public boolean onMenuItemClick(MenuItem item) {
-          component.emitEvent("onRightPress", data);
-          return false;
+          component.emitEvent("onRightPress", null);
+          return true;
         }
       });
+    } else if (!title.equals(mRightTitleItem.getTitle())) {
+      mRightTitleItem.setTitle(title);
     }
   }
 
-  private void setMenuItemIcon(final MenuItem item, ReadableMap iconSource) {
+  private void updateRightButton(RightButton button, @Nullable Map<?, ?> previous, int index) {
+    Map<?, ?> config = button.config;
+    if (previous != null) {
+      String title = getButtonTitle(config, index);
+      if (!title.equals(getButtonTitle(previous, index))) {
+        button.item.setTitle(title);
+      }
+    }
 
-    DraweeHolder<GenericDraweeHierarchy> holder =
-        DraweeHolder.create(createDraweeHierarchy(), getContext());
-    ActionIconControllerListener controllerListener = new ActionIconControllerListener(item, holder);
-    controllerListener.setIconImageInfo(getIconImageInfo(iconSource));
+    Object image = config.get("image");
+    if (image instanceof Map) {
+      if (previous == null || !image.equals(previous.get("image"))) {
+        //noinspection unchecked
+        ReadableMap source = ConversionUtil.toWritableMap((Map<String, Object>) image);
+        if (button.iconHolder == null) {
+          button.iconHolder = DraweeHolder.create(createDraweeHierarchy(), getContext());
+          mActionsHolder.add(button.iconHolder);
+        }
+        ActionIconControllerListener controllerListener =
+            new ActionIconControllerListener(button.item, button.iconHolder);
+        controllerListener.setIconImageInfo(getIconImageInfo(source));
+        setIconSource(source, controllerListener, button.iconHolder);
+      }
+    } else if (button.iconHolder != null) {
+      removeActionHolder(button.iconHolder);
+      button.iconHolder = null;
+      button.item.setIcon(null);
+    }
 
-    setIconSource(iconSource, controllerListener, holder);
+    button.item.setEnabled(!Boolean.FALSE.equals(config.get("enabled")));
+  }
 
-    mActionsHolder.add(holder);
+  private void removeRightButtons() {
+    if (mMenu != null && !mRightButtons.isEmpty()) {
+      mMenu.removeGroup(R.id.react_toolbar_right_buttons_group);
+    }
+    for (RightButton button : mRightButtons) {
+      if (button.iconHolder != null) {
+        removeActionHolder(button.iconHolder);
+      }
+    }
+    mRightButtons.clear();
+  }
 
+  private void removeActionHolder(DraweeHolder<GenericDraweeHierarchy> holder) {
+    for (int i = 0; i < mActionsHolder.size(); i++) {
+      if (mActionsHolder.get(i) == holder) {
+        mActionsHolder.remove(i);
+        return;
+      }
+    }
+  }
+
+  /**
+   * Returns the options menu this toolbar last created, whose items can be updated in place without
+   * invalidating it, or null if it hasn't created one yet.
+   */
+  @Nullable
+  /* package */ Menu getOptionsMenu() {
+    return mMenu;
+  }
+
+  /** Drops our references to menu items that were added to a different menu. */
+  private void forgetMenuItemsIfMenuChanged(Menu menu) {
+    if (menu != mMenu) {
+      forgetMenuItems();
+      mMenu = menu;
+    }
+  }
+
+  private void forgetMenuItems() {
+    mActionsHolder.clear();
+    mRightButtons.clear();
+    mRightTitleItem = null;
+  }
+
+  private static String getButtonTitle(Map<?, ?> button, int index) {
+    Object title = button.get("title");
+    return title instanceof String ? (String) title : String.format("Item %s", index);
+  }
+
+  private static Map<?, ?> asMap(Object button) {
+    return button instanceof Map ? (Map<?, ?>) button : Collections.emptyMap();
   }
 
   /**
@@ -290,7 +427,17 @@ public class ReactToolbar extends Toolbar {
       controllerListener.setIconImageInfo(null);
       controllerListener.setDrawable(null);
     } else if (uri.startsWith("http://") || uri.startsWith("https://") || uri.startsWith("file://")) {
-      controllerListener.setIconImageInfo(getIconImageInfo(source));
+      IconImageInfo iconImageInfo = getIconImageInfo(source);
+      String cacheKey = IconCache.keyFor(uri, iconImageInfo);
+      Drawable cached = getIconCache().getDrawable(getResources(), cacheKey, iconImageInfo);
+      if (cached != null) {
+        // Drop any request still in flight for a previous source, so it can't replace this icon.
+        holder.setController(null);
+        controllerListener.setDrawable(cached);
+        return;
+      }
+      controllerListener.setIconImageInfo(iconImageInfo);
+      controllerListener.setCacheKey(cacheKey);
       DraweeController controller = Fresco.newDraweeControllerBuilder()
           .setUri(Uri.parse(uri))
           .setControllerListener(controllerListener)
@@ -311,22 +458,19 @@ public class ReactToolbar extends Toolbar {
         .build();
   }
 
-  private int getDrawableResourceByName(String name) {
-    return getResources().getIdentifier(
-        name,
-        "drawable",
-        getContext().getPackageName());
-  }
-
   private Drawable getDrawableByName(String name) {
-    int drawableResId = getDrawableResourceByName(name);
+    int drawableResId = getIconCache().getDrawableResourceId(getContext(), name);
     if (drawableResId != 0) {
-      return getResources().getDrawable(getDrawableResourceByName(name));
+      return getResources().getDrawable(drawableResId);
     } else {
       return null;
     }
   }
 
+  private static IconCache getIconCache() {
+    return ReactNavigationCoordinator.sharedInstance.getIconCache();
+  }
+
   private IconImageInfo getIconImageInfo(ReadableMap source) {
     if (source.hasKey(PROP_ICON_WIDTH) && source.hasKey(PROP_ICON_HEIGHT)) {
       final int width = Math.round(PixelUtil.toPixelFromDIP(source.getInt(PROP_ICON_WIDTH)));
@@ -339,6 +483,8 @@ public class ReactToolbar extends Toolbar {
 
   public boolean onCreateOptionsMenu(int menuRes, Menu menu, MenuInflater inflater) {
     menu.clear();
+    forgetMenuItems();
+    mMenu = menu;
 
     if (menuRes != 0) {
       inflater.inflate(menuRes, menu);
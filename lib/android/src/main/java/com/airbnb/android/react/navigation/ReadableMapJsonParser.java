@@ -0,0 +1,347 @@
+package com.airbnb.android.react.navigation;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.facebook.react.bridge.ReadableType;
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.core.base.ParserMinimalBase;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * A {@link com.fasterxml.jackson.core.JsonParser} that reads its tokens straight out of a
+ * {@link ReadableMap}, so that Jackson can bind the arguments JS sends to an object without going
+ * through a JSON string or an intermediate tree of nodes.
+ *
+ * JS only has doubles, so numbers are reported as ints or longs whenever they are integral and fit
+ * in one, and as doubles otherwise.
+ */
+final class ReadableMapJsonParser extends ParserMinimalBase {
+  // Integral doubles beyond this can't be told apart from their neighbors, so we leave them alone.
+  private static final double MAX_SAFE_INTEGER = 9007199254740991d;
+
+  /** Where we are in the map: the root, or one of the objects or arrays in it. */
+  private static final class Context extends JsonStreamContext {
+    final Context parent;
+    final ReadableMap map;
+    final ReadableMapKeySetIterator keys;
+    final ReadableArray array;
+    final int size;
+    String currentName;
+    boolean isExpectingValue;
+
+    private Context(Context parent, int type, ReadableMap map, ReadableArray array) {
+      this.parent = parent;
+      this.map = map;
+      this.keys = map == null ? null : map.keySetIterator();
+      this.array = array;
+      this.size = array == null ? 0 : array.size();
+      _type = type;
+      _index = -1;
+    }
+
+    static Context root() {
+      return new Context(null, TYPE_ROOT, null, null);
+    }
+
+    Context object(ReadableMap map) {
+      return new Context(this, TYPE_OBJECT, map, null);
+    }
+
+    Context array(ReadableArray array) {
+      return new Context(this, TYPE_ARRAY, null, array);
+    }
+
+    /** Moves on to the next entry, and returns its index. */
+    int next() {
+      return ++_index;
+    }
+
+    boolean hasNextElement() {
+      return _index + 1 < size;
+    }
+
+    @Override
+    public JsonStreamContext getParent() {
+      return parent;
+    }
+
+    @Override
+    public String getCurrentName() {
+      return currentName;
+    }
+  }
+
+  private final ReadableMap root;
+  private ObjectCodec codec;
+  private Context context = Context.root();
+  private boolean isClosed;
+
+  private String stringValue;
+  private double numberValue;
+  private NumberType numberType;
+
+  ReadableMapJsonParser(ReadableMap root, ObjectCodec codec) {
+    this.root = root;
+    this.codec = codec;
+  }
+
+  @Override
+  public JsonToken nextToken() throws IOException {
+    if (isClosed) {
+      return null;
+    }
+    Context ctx = context;
+    if (ctx.inRoot()) {
+      if (ctx.getEntryCount() > 0) {
+        // We have already read the whole map.
+        _currToken = null;
+        return null;
+      }
+      ctx.next();
+      context = ctx.object(root);
+      return _currToken = JsonToken.START_OBJECT;
+    }
+    if (ctx.inObject()) {
+      if (ctx.isExpectingValue) {
+        ctx.isExpectingValue = false;
+        return _currToken = readValue(ctx, ctx.map.getType(ctx.currentName), -1);
+      }
+      if (ctx.keys.hasNextKey()) {
+        ctx.next();
+        ctx.currentName = ctx.keys.nextKey();
+        ctx.isExpectingValue = true;
+        return _currToken = JsonToken.FIELD_NAME;
+      }
+      context = ctx.parent;
+      return _currToken = JsonToken.END_OBJECT;
+    }
+    if (ctx.hasNextElement()) {
+      int index = ctx.next();
+      return _currToken = readValue(ctx, ctx.array.getType(index), index);
+    }
+    context = ctx.parent;
+    return _currToken = JsonToken.END_ARRAY;
+  }
+
+  /**
+   * Reads the value at the current name of {@code ctx} if it is an object, or at {@code index} if
+   * it is an array.
+   */
+  private JsonToken readValue(Context ctx, ReadableType type, int index) {
+    ReadableMap map = ctx.map;
+    ReadableArray array = ctx.array;
+    String name = ctx.currentName;
+    switch (type) {
+      case Boolean:
+        boolean value = map != null ? map.getBoolean(name) : array.getBoolean(index);
+        return value ? JsonToken.VALUE_TRUE : JsonToken.VALUE_FALSE;
+      case Number:
+        numberValue = map != null ? map.getDouble(name) : array.getDouble(index);
+        if (ConversionUtil.isInteger(numberValue)) {
+          numberType = NumberType.INT;
+        } else if (numberValue == Math.rint(numberValue)
+            && Math.abs(numberValue) <= MAX_SAFE_INTEGER) {
+          numberType = NumberType.LONG;
+        } else {
+          numberType = NumberType.DOUBLE;
+          return JsonToken.VALUE_NUMBER_FLOAT;
+        }
+        return JsonToken.VALUE_NUMBER_INT;
+      case String:
+        stringValue = map != null ? map.getString(name) : array.getString(index);
+        return JsonToken.VALUE_STRING;
+      case Map:
+        context = ctx.object(map != null ? map.getMap(name) : array.getMap(index));
+        return JsonToken.START_OBJECT;
+      case Array:
+        context = ctx.array(map != null ? map.getArray(name) : array.getArray(index));
+        return JsonToken.START_ARRAY;
+      case Null:
+      default:
+        return JsonToken.VALUE_NULL;
+    }
+  }
+
+  @Override
+  protected void _handleEOF() throws JsonParseException {
+  }
+
+  @Override
+  public String getCurrentName() throws IOException {
+    // The name of an object or array is the field it is in, which belongs to the enclosing context.
+    if ((_currToken == JsonToken.START_OBJECT || _currToken == JsonToken.START_ARRAY)
+        && context.parent != null) {
+      return context.parent.currentName;
+    }
+    return context.currentName;
+  }
+
+  @Override
+  public void overrideCurrentName(String name) {
+    if ((_currToken == JsonToken.START_OBJECT || _currToken == JsonToken.START_ARRAY)
+        && context.parent != null) {
+      context.parent.currentName = name;
+    } else {
+      context.currentName = name;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    isClosed = true;
+  }
+
+  @Override
+  public boolean isClosed() {
+    return isClosed;
+  }
+
+  @Override
+  public JsonStreamContext getParsingContext() {
+    return context;
+  }
+
+  @Override
+  public String getText() throws IOException {
+    if (_currToken == null) {
+      return null;
+    }
+    switch (_currToken) {
+      case FIELD_NAME:
+        return getCurrentName();
+      case VALUE_STRING:
+        return stringValue;
+      case VALUE_NUMBER_INT:
+      case VALUE_NUMBER_FLOAT:
+        return String.valueOf(getNumberValue());
+      default:
+        return _currToken.asString();
+    }
+  }
+
+  @Override
+  public char[] getTextCharacters() throws IOException {
+    String text = getText();
+    return text == null ? null : text.toCharArray();
+  }
+
+  @Override
+  public boolean hasTextCharacters() {
+    return false;
+  }
+
+  @Override
+  public int getTextLength() throws IOException {
+    String text = getText();
+    return text == null ? 0 : text.length();
+  }
+
+  @Override
+  public int getTextOffset() throws IOException {
+    return 0;
+  }
+
+  @Override
+  public byte[] getBinaryValue(Base64Variant base64Variant) throws IOException {
+    if (_currToken != JsonToken.VALUE_STRING) {
+      _reportError("Current token (" + _currToken + ") is not a base64 encoded string");
+    }
+    ByteArrayBuilder builder = new ByteArrayBuilder();
+    _decodeBase64(stringValue, builder, base64Variant);
+    return builder.toByteArray();
+  }
+
+  @Override
+  public ObjectCodec getCodec() {
+    return codec;
+  }
+
+  @Override
+  public void setCodec(ObjectCodec codec) {
+    this.codec = codec;
+  }
+
+  @Override
+  public Version version() {
+    return Version.unknownVersion();
+  }
+
+  @Override
+  public JsonLocation getTokenLocation() {
+    return JsonLocation.NA;
+  }
+
+  @Override
+  public JsonLocation getCurrentLocation() {
+    return JsonLocation.NA;
+  }
+
+  @Override
+  public Number getNumberValue() throws IOException {
+    switch (getNumberType()) {
+      case INT:
+        return (int) numberValue;
+      case LONG:
+        return (long) numberValue;
+      default:
+        return numberValue;
+    }
+  }
+
+  @Override
+  public NumberType getNumberType() throws IOException {
+    if (_currToken != JsonToken.VALUE_NUMBER_INT && _currToken != JsonToken.VALUE_NUMBER_FLOAT) {
+      _reportError("Current token (" + _currToken + ") is not numeric");
+    }
+    return numberType;
+  }
+
+  @Override
+  public int getIntValue() throws IOException {
+    if (getNumberType() == NumberType.LONG) {
+      _reportError("Numeric value (" + getText() + ") out of range of int");
+    }
+    return (int) numberValue;
+  }
+
+  @Override
+  public long getLongValue() throws IOException {
+    getNumberType();
+    return (long) numberValue;
+  }
+
+  @Override
+  public BigInteger getBigIntegerValue() throws IOException {
+    return BigInteger.valueOf(getLongValue());
+  }
+
+  @Override
+  public float getFloatValue() throws IOException {
+    getNumberType();
+    return (float) numberValue;
+  }
+
+  @Override
+  public double getDoubleValue() throws IOException {
+    getNumberType();
+    return numberValue;
+  }
+
+  @Override
+  public BigDecimal getDecimalValue() throws IOException {
+    return getNumberType() == NumberType.DOUBLE
+        ? BigDecimal.valueOf(numberValue)
+        : BigDecimal.valueOf(getLongValue());
+  }
+}
@@ -0,0 +1,177 @@
+package com.airbnb.android.react.navigation;
+
+import android.graphics.Color;
+import android.support.annotation.Nullable;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable, plain Java copy of a screen's navigation config. It is read out of the
+ * {@link ReadableMap} sent from JS in a single pass (on the bridge thread), so that reconciling and
+ * diffing it on the main thread never has to go back through JNI.
+ *
+ * Values are kept as {@link Boolean}, {@link Integer} or {@link Double}, {@link String},
+ * {@link Map} and {@link List}, the same way {@link ConversionUtil#toMap(ReadableMap)} returns them.
+ */
+public final class ScreenConfig {
+  static final ScreenConfig EMPTY = new ScreenConfig(Collections.<String, Object>emptyMap());
+
+  private final Map<String, Object> values;
+  @Nullable private final Integer screenColor;
+
+  private ScreenConfig(Map<String, Object> values) {
+    this.values = Collections.unmodifiableMap(values);
+    Object screenColor = values.get("screenColor");
+    this.screenColor = screenColor instanceof Number ? ((Number) screenColor).intValue() : null;
+  }
+
+  static ScreenConfig fromMap(@Nullable ReadableMap map) {
+    if (map == null) {
+      return EMPTY;
+    }
+    return new ScreenConfig(ConversionUtil.toMap(map));
+  }
+
+  /** Returns a config with the values of {@code overrides} laid on top of these. */
+  ScreenConfig merge(ScreenConfig overrides) {
+    if (overrides.values.isEmpty()) {
+      return this;
+    }
+    Map<String, Object> result = new HashMap<>(values);
+    result.putAll(overrides.values);
+    return new ScreenConfig(result);
+  }
+
+  /** Returns the keys that were added, removed or changed between {@code prev} and this config. */
+  Set<String> changedKeys(ScreenConfig prev) {
+    Set<String> result = new HashSet<>();
+    for (Map.Entry<String, Object> entry : values.entrySet()) {
+      String key = entry.getKey();
+      if (!prev.values.containsKey(key) || !equal(entry.getValue(), prev.values.get(key))) {
+        result.add(key);
+      }
+    }
+    for (String key : prev.values.keySet()) {
+      if (!values.containsKey(key)) {
+        result.add(key);
+      }
+    }
+    return result;
+  }
+
+  /** Returns whether {@code key} was added, removed or changed between {@code prev} and this. */
+  boolean hasChanged(String key, ScreenConfig prev) {
+    return values.containsKey(key) != prev.values.containsKey(key)
+        || !equal(values.get(key), prev.values.get(key));
+  }
+
+  /** The background color of the screen, if it has one. */
+  @Nullable
+  public Integer getScreenColor() {
+    return screenColor;
+  }
+
+  /** Whether the screen below this one shows through its background. */
+  public boolean isTranslucent() {
+    return screenColor != null && Color.alpha(screenColor) < 255;
+  }
+
+  public boolean hasKey(String key) {
+    return values.containsKey(key);
+  }
+
+  /** Returns the type of the value of {@code key}, or null if it isn't set. */
+  @Nullable
+  public ReadableType getType(String key) {
+    if (!values.containsKey(key)) {
+      return null;
+    }
+    Object value = values.get(key);
+    if (value == null) {
+      return ReadableType.Null;
+    } else if (value instanceof Boolean) {
+      return ReadableType.Boolean;
+    } else if (value instanceof Number) {
+      return ReadableType.Number;
+    } else if (value instanceof String) {
+      return ReadableType.String;
+    } else if (value instanceof Map) {
+      return ReadableType.Map;
+    } else {
+      return ReadableType.Array;
+    }
+  }
+
+  /** Returns whether {@code key} is set to a value of the given {@code type}. */
+  public boolean has(String key, ReadableType type) {
+    return getType(key) == type;
+  }
+
+  public boolean getBoolean(String key) {
+    return (Boolean) values.get(key);
+  }
+
+  public double getDouble(String key) {
+    return ((Number) values.get(key)).doubleValue();
+  }
+
+  public int getInt(String key) {
+    return ((Number) values.get(key)).intValue();
+  }
+
+  public String getString(String key) {
+    return (String) values.get(key);
+  }
+
+  /**
+   * Returns the value of {@code key} as a new {@link ReadableMap}, for the views that take one
+   * (such as image sources). Prefer the other getters where possible, since this has to write the
+   * map back out through JNI.
+   */
+  public ReadableMap getMap(String key) {
+    //noinspection unchecked
+    return ConversionUtil.toWritableMap((Map<String, Object>) values.get(key));
+  }
+
+  /**
+   * Returns the value of {@code key} as a plain Java list, whose items are values of the same types
+   * as the ones in this config.
+   */
+  public List<?> getList(String key) {
+    return (List<?>) values.get(key);
+  }
+
+  /** Returns the value of {@code key} as a new {@link ReadableArray}. See {@link #getMap(String)}. */
+  public ReadableArray getArray(String key) {
+    //noinspection unchecked
+    return ConversionUtil.toWritableArray((List<Object>) values.get(key));
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return this == o || (o instanceof ScreenConfig && values.equals(((ScreenConfig) o).values));
+  }
+
+  @Override
+  public int hashCode() {
+    return values.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "ScreenConfig" + values;
+  }
+
+  private static boolean equal(@Nullable Object a, @Nullable Object b) {
+    return a == null ? b == null : a.equals(b);
+  }
+}
@@ -2,7 +2,6 @@ package com.airbnb.android.react.navigation;
 
 import android.annotation.TargetApi;
 import android.app.Activity;
-import android.graphics.Color;
 import android.os.Build;
 import android.os.Bundle;
 import android.support.annotation.AnimRes;
@@ -21,9 +20,9 @@ import android.widget.FrameLayout;
 
 import com.airbnb.android.R;
 import com.facebook.react.bridge.Promise;
-import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.common.MapBuilder;
 
+import java.util.ArrayList;
 import java.util.Map;
 import java.util.Stack;
 
@@ -36,6 +35,8 @@ public class ScreenCoordinator {
   private static final String TAG = ScreenCoordinator.class.getSimpleName();
   static final String EXTRA_PAYLOAD = "payload";
   private static final String TRANSITION_GROUP = "transitionGroup";
+  private static final String STATE_STACK_ID = "screenCoordinator.stackId";
+  private static final String STATE_BACK_STACKS = "screenCoordinator.backStacks";
 
   enum PresentAnimation {
     Modal(R.anim.slide_up, R.anim.delay, R.anim.delay, R.anim.slide_down),
@@ -57,6 +58,7 @@ public class ScreenCoordinator {
 
   private final Stack<BackStack> backStacks = new Stack<>();
   private final AppCompatActivity activity;
+  private final FragmentManager fragmentManager;
   private final ScreenCoordinatorLayout container;
   private ReactNavigationCoordinator reactNavigationCoordinator = ReactNavigationCoordinator.sharedInstance;
 
@@ -71,14 +73,56 @@ public class ScreenCoordinator {
 
   public ScreenCoordinator(AppCompatActivity activity, ScreenCoordinatorLayout container,
       @Nullable Bundle savedInstanceState) {
+    this(activity, activity.getSupportFragmentManager(), container, savedInstanceState);
+  }
+
+  /**
+   * Creates a coordinator whose screens are added to {@code fragmentManager}, which is the child
+   * fragment manager of {@link TabStackFragment} for tabs, so that each tab has a back stack of its
+   * own.
+   */
+  ScreenCoordinator(AppCompatActivity activity, FragmentManager fragmentManager,
+      ScreenCoordinatorLayout container, @Nullable Bundle savedInstanceState) {
     this.activity = activity;
+    this.fragmentManager = fragmentManager;
     this.container = container;
-    container.setFragmentManager(activity.getSupportFragmentManager());
-    // TODO: restore state
+    container.setFragmentManager(fragmentManager);
+    if (savedInstanceState != null) {
+      restoreState(savedInstanceState);
+    }
   }
 
-  void onSaveInstanceState(Bundle outState) {
-    // TODO
+  /**
+   * Saves the back stacks, so that they can be restored if the activity is recreated (including
+   * after the process was killed). Must be saved into the same bundle as the state of the fragment
+   * manager, which is what holds on to the fragments themselves, so call this from your activity's
+   * {@code onSaveInstanceState} and pass the same bundle back to the constructor.
+   */
+  public void onSaveInstanceState(Bundle outState) {
+    ArrayList<Bundle> states = new ArrayList<>(backStacks.size());
+    for (BackStack backStack : backStacks) {
+      states.add(backStack.saveState(fragmentManager));
+    }
+    outState.putInt(STATE_STACK_ID, stackId);
+    outState.putParcelableArrayList(STATE_BACK_STACKS, states);
+  }
+
+  /**
+   * The fragment manager has already recreated the fragments by the time we get here. Only the ones
+   * that were attached (the top of each stack, plus whatever shows through a translucent one) get
+   * their views back and start their React applications; the rest stay detached until they are
+   * popped back to.
+   */
+  private void restoreState(Bundle savedInstanceState) {
+    ArrayList<Bundle> states = savedInstanceState.getParcelableArrayList(STATE_BACK_STACKS);
+    if (states == null) {
+      return;
+    }
+    stackId = savedInstanceState.getInt(STATE_STACK_ID);
+    for (Bundle state : states) {
+      backStacks.push(BackStack.restoreState(state, fragmentManager));
+    }
+    Log.d(TAG, "Restored " + toString());
   }
 
   public void pushScreen(String moduleName) {
@@ -95,9 +139,9 @@ public class ScreenCoordinator {
   }
 
   public void pushScreen(Fragment fragment, @Nullable Bundle options) {
-    FragmentTransaction ft = activity.getSupportFragmentManager().beginTransaction()
+    FragmentTransaction ft = fragmentManager.beginTransaction()
             .setAllowOptimization(true);
-    Fragment currentFragment = getCurrentFragment();
+    Fragment currentFragment = getTopFragment();
     if (currentFragment == null) {
       throw new IllegalStateException("There is no current fragment. You must present one first.");
     }
@@ -114,6 +158,7 @@ public class ScreenCoordinator {
             .add(container.getId(), fragment)
             .addToBackStack(null)
             .commit();
+    reportFragmentCommitted(fragment);
     bsi.pushFragment(fragment);
     Log.d(TAG, toString());
   }
@@ -127,14 +172,33 @@ public class ScreenCoordinator {
     Fade fade = new Fade();
     inFragment.setEnterTransition(fade);
     inFragment.setReturnTransition(fade);
+    String groupId = options.getString(TRANSITION_GROUP);
+    if (outFragment instanceof ReactInterface) {
+      String instanceId = ((ReactInterface) outFragment).getInstanceId();
+      ViewGroup transitionGroup =
+          reactNavigationCoordinator.getSharedElementIndex().findGroup(instanceId, groupId);
+      if (transitionGroup != null) {
+        AutoSharedElementCallback.addSharedElementsToFragmentTransaction(
+            transaction, instanceId, transitionGroup);
+      }
+      return;
+    }
     ViewGroup rootView = (ViewGroup) outFragment.getView();
     ViewGroup transitionGroup = ViewUtils.findViewGroupWithTag(
             rootView,
             R.id.react_shared_element_group_id,
-            options.getString(TRANSITION_GROUP));
+            groupId);
     AutoSharedElementCallback.addSharedElementsToFragmentTransaction(transaction, transitionGroup);
   }
 
+  /**
+   * Starts rendering {@code moduleName} with {@code props} offscreen, so that pushing or presenting
+   * it with the same props shortly after only has to run the transition.
+   */
+  public void preloadScreen(String moduleName, @Nullable Bundle props) {
+    reactNavigationCoordinator.getReactRootViewPool().preload(moduleName, props);
+  }
+
   public void presentScreen(String moduleName) {
     presentScreen(moduleName, null, null, null);
   }
@@ -153,15 +217,22 @@ public class ScreenCoordinator {
     presentScreen(fragment, null);
   }
 
+  private void reportFragmentCommitted(Fragment fragment) {
+    Bundle args = fragment.getArguments();
+    if (fragment instanceof ReactNativeFragment && args != null) {
+      reactNavigationCoordinator.reportNavigationEvent(
+          NavigationMetricsListener.Event.FRAGMENT_COMMITTED,
+          args.getString(ReactNativeFragment.EXTRA_INSTANCE_ID),
+          args.getString(ReactNativeIntents.EXTRA_MODULE_NAME));
+    }
+  }
+
   private Boolean isFragmentTranslucent(Fragment fragment) {
     Bundle bundle = fragment.getArguments();
     if (bundle != null) {
       String moduleName = bundle.getString(ReactNativeIntents.EXTRA_MODULE_NAME);
       if (moduleName != null) {
-        ReadableMap config = reactNavigationCoordinator.getInitialConfigForModuleName(moduleName);
-        if (config != null && config.hasKey("screenColor")) {
-          return Color.alpha(config.getInt("screenColor")) < 255;
-        }
+        return reactNavigationCoordinator.getInitialConfigForModuleName(moduleName).isTranslucent();
       }
     }
     return false;
@@ -175,14 +246,14 @@ public class ScreenCoordinator {
     if (fragment == null) {
       throw new IllegalArgumentException("Fragment must not be null.");
     }
+    Fragment currentFragment = getTopFragment();
     BackStack bsi = new BackStack(getNextStackTag(), anim, promise);
     backStacks.push(bsi);
     // TODO: dry this up with pushScreen
-    FragmentTransaction ft = activity.getSupportFragmentManager().beginTransaction()
+    FragmentTransaction ft = fragmentManager.beginTransaction()
         .setAllowOptimization(true)
         .setCustomAnimations(anim.enter, anim.exit, anim.popEnter, anim.popExit);
 
-    Fragment currentFragment = getCurrentFragment();
     if (currentFragment != null && !isFragmentTranslucent(fragment)) {
       container.willDetachCurrentScreen();
       ft.detach(currentFragment);
@@ -191,7 +262,8 @@ public class ScreenCoordinator {
         .add(container.getId(), fragment)
         .addToBackStack(bsi.getTag())
         .commit();
-    activity.getSupportFragmentManager().executePendingTransactions();
+    reportFragmentCommitted(fragment);
+    fragmentManager.executePendingTransactions();
     bsi.pushFragment(fragment);
     Log.d(TAG, toString());
   }
@@ -199,7 +271,7 @@ public class ScreenCoordinator {
   public void dismissAll() {
     while (!backStacks.isEmpty()) {
       dismiss(0, null, false);
-      activity.getFragmentManager().executePendingTransactions();
+      fragmentManager.executePendingTransactions();
     }
   }
 
@@ -214,7 +286,7 @@ public class ScreenCoordinator {
       return;
     }
     bsi.popFragment();
-    activity.getSupportFragmentManager().popBackStack();
+    fragmentManager.popBackStack();
     Log.d(TAG, toString());
   }
 
@@ -243,7 +315,7 @@ public class ScreenCoordinator {
       nextPopExitAnim = anim.popExit;
     }
 
-    activity.getSupportFragmentManager()
+    fragmentManager
             .popBackStackImmediate(bsi.getTag(), FragmentManager.POP_BACK_STACK_INCLUSIVE);
     Log.d(TAG, toString());
   }
@@ -277,7 +349,18 @@ public class ScreenCoordinator {
 
   @Nullable
   private Fragment getCurrentFragment() {
-    return activity.getSupportFragmentManager().findFragmentById(container.getId());
+    return fragmentManager.findFragmentById(container.getId());
+  }
+
+  /**
+   * Returns the fragment at the top of the current back stack. Unlike {@link #getCurrentFragment()}
+   * this accounts for pops that the fragment manager hasn't executed yet, which matters when a pop
+   * and a push are committed together.
+   */
+  @Nullable
+  Fragment getTopFragment() {
+    Fragment fragment = backStacks.isEmpty() ? null : getCurrentBackStack().peekFragment();
+    return fragment != null ? fragment : getCurrentFragment();
   }
 
   private BackStack getCurrentBackStack() {
@@ -15,6 +15,12 @@ public class SharedElementGroupManager extends ViewGroupManager<ReactViewGroup>
   private static final String REACT_CLASS = "NativeNavigationSharedElementGroup";
   private static final int VERSION = 1;
 
+  private final ReactNavigationCoordinator coordinator;
+
+  SharedElementGroupManager(ReactNavigationCoordinator coordinator) {
+    this.coordinator = coordinator;
+  }
+
   @Override
   public Map<String, Object> getExportedViewConstants() {
     return MapBuilder.<String, Object>builder()
@@ -34,6 +40,37 @@ public class SharedElementGroupManager extends ViewGroupManager<ReactViewGroup>
 
   @ReactProp(name = "id")
   public void setIdentifier(ReactViewGroup view, String id) {
+    removeFromIndex(view);
     view.setTag(R.id.react_shared_element_group_id, id);
+    addToIndex(view);
+  }
+
+  @ReactProp(name = "nativeNavigationInstanceId")
+  public void setInstanceId(ReactViewGroup view, String instanceId) {
+    removeFromIndex(view);
+    view.setTag(R.id.react_shared_element_screen_instance_id, instanceId);
+    addToIndex(view);
+  }
+
+  @Override
+  public void onDropViewInstance(ReactViewGroup view) {
+    super.onDropViewInstance(view);
+    removeFromIndex(view);
+  }
+
+  private void addToIndex(ReactViewGroup view) {
+    String id = (String) view.getTag(R.id.react_shared_element_group_id);
+    String instanceId = (String) view.getTag(R.id.react_shared_element_screen_instance_id);
+    if (id != null && instanceId != null) {
+      coordinator.getSharedElementIndex().addGroup(instanceId, id, view);
+    }
+  }
+
+  private void removeFromIndex(ReactViewGroup view) {
+    String id = (String) view.getTag(R.id.react_shared_element_group_id);
+    String instanceId = (String) view.getTag(R.id.react_shared_element_screen_instance_id);
+    if (id != null && instanceId != null) {
+      coordinator.getSharedElementIndex().removeGroup(instanceId, id, view);
+    }
   }
 }
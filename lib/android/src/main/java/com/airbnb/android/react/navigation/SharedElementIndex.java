@@ -0,0 +1,104 @@
+package com.airbnb.android.react.navigation;
+
+import android.support.annotation.Nullable;
+import android.support.v4.util.Pair;
+import android.support.v4.view.ViewCompat;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The shared elements and shared element groups rendered by each screen, keyed by the screen's
+ * instance id. The view managers keep it up to date as the views are added and dropped, so that
+ * starting a shared element transition only has to look at the screen's shared elements instead of
+ * walking its (possibly huge) view hierarchy.
+ *
+ * Only used from the main thread.
+ */
+final class SharedElementIndex {
+  // Shared element view -> the child it gave its transition name to
+  private final Map<String, Map<View, View>> sharedElementsByInstanceId = new HashMap<>();
+  private final Map<String, Map<String, ViewGroup>> groupsByInstanceId = new HashMap<>();
+
+  void addSharedElement(String instanceId, View sharedElement, View child) {
+    Map<View, View> sharedElements = sharedElementsByInstanceId.get(instanceId);
+    if (sharedElements == null) {
+      sharedElements = new HashMap<>();
+      sharedElementsByInstanceId.put(instanceId, sharedElements);
+    }
+    sharedElements.put(sharedElement, child);
+  }
+
+  void removeSharedElement(String instanceId, View sharedElement) {
+    Map<View, View> sharedElements = sharedElementsByInstanceId.get(instanceId);
+    if (sharedElements != null) {
+      sharedElements.remove(sharedElement);
+      if (sharedElements.isEmpty()) {
+        sharedElementsByInstanceId.remove(instanceId);
+      }
+    }
+  }
+
+  void addGroup(String instanceId, String groupId, ViewGroup group) {
+    Map<String, ViewGroup> groups = groupsByInstanceId.get(instanceId);
+    if (groups == null) {
+      groups = new HashMap<>();
+      groupsByInstanceId.put(instanceId, groups);
+    }
+    groups.put(groupId, group);
+  }
+
+  void removeGroup(String instanceId, String groupId, ViewGroup group) {
+    Map<String, ViewGroup> groups = groupsByInstanceId.get(instanceId);
+    // Another group may have taken the id over since.
+    if (groups != null && groups.get(groupId) == group) {
+      groups.remove(groupId);
+      if (groups.isEmpty()) {
+        groupsByInstanceId.remove(instanceId);
+      }
+    }
+  }
+
+  @Nullable
+  ViewGroup findGroup(String instanceId, String groupId) {
+    Map<String, ViewGroup> groups = groupsByInstanceId.get(instanceId);
+    return groups == null ? null : groups.get(groupId);
+  }
+
+  /**
+   * Adds the visible transition views of the screen {@code instanceId} that are inside
+   * {@code group}, the same ones {@link ViewUtils#findTransitionViews(View, List)} would find by
+   * walking the group.
+   */
+  void findTransitionViews(
+      String instanceId, ViewGroup group, List<Pair<View, String>> transitionViews) {
+    Map<View, View> sharedElements = sharedElementsByInstanceId.get(instanceId);
+    if (sharedElements == null) {
+      return;
+    }
+    for (Map.Entry<View, View> entry : sharedElements.entrySet()) {
+      View child = entry.getValue();
+      String transitionName = ViewCompat.getTransitionName(child);
+      if (child.getParent() == entry.getKey()
+          && ViewUtils.isVisibleTransitionView(child, transitionName)
+          && isDescendant(entry.getKey(), group)) {
+        transitionViews.add(Pair.create(child, transitionName));
+      }
+    }
+  }
+
+  private static boolean isDescendant(View view, ViewGroup ancestor) {
+    ViewParent parent = view.getParent();
+    while (parent != null) {
+      if (parent == ancestor) {
+        return true;
+      }
+      parent = parent.getParent();
+    }
+    return false;
+  }
+}
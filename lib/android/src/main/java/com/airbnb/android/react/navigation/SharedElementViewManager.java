@@ -49,7 +49,11 @@ public class SharedElementViewManager extends ViewGroupManager<ReactViewGroup> {
 
   @ReactProp(name = "nativeNavigationInstanceId")
   public void setInstanceId(ReactViewGroup view, String instanceId) {
+    removeFromIndex(view);
     view.setTag(R.id.react_shared_element_screen_instance_id, instanceId);
+    if (instanceId != null && view.getChildCount() > 0) {
+      coordinator.getSharedElementIndex().addSharedElement(instanceId, view, view.getChildAt(0));
+    }
   }
 
   @Override
@@ -65,9 +69,37 @@ public class SharedElementViewManager extends ViewGroupManager<ReactViewGroup> {
 
     ViewCompat.setTransitionName(child, transitionName);
     parent.addView(child, index);
+    if (instanceId != null) {
+      coordinator.getSharedElementIndex().addSharedElement(instanceId, parent, child);
+    }
 
     if (component != null) {
       component.notifySharedElementAddition();
     }
   }
+
+  @Override
+  public void removeViewAt(ReactViewGroup parent, int index) {
+    super.removeViewAt(parent, index);
+    removeFromIndex(parent);
+  }
+
+  @Override
+  public void removeAllViews(ReactViewGroup parent) {
+    super.removeAllViews(parent);
+    removeFromIndex(parent);
+  }
+
+  @Override
+  public void onDropViewInstance(ReactViewGroup view) {
+    super.onDropViewInstance(view);
+    removeFromIndex(view);
+  }
+
+  private void removeFromIndex(ReactViewGroup view) {
+    String instanceId = (String) view.getTag(R.id.react_shared_element_screen_instance_id);
+    if (instanceId != null) {
+      coordinator.getSharedElementIndex().removeSharedElement(instanceId, view);
+    }
+  }
 }
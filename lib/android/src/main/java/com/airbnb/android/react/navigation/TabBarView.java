@@ -1,9 +1,12 @@
 package com.airbnb.android.react.navigation;
 
 import android.content.Context;
+import android.support.annotation.Nullable;
 import android.util.AttributeSet;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.ViewParent;
+import com.airbnb.android.R;
 import com.facebook.react.bridge.ReadableMap;
 
 /**
@@ -15,6 +18,7 @@ public class TabBarView extends ViewGroup {
 
   private ReadableMap prevConfig = ConversionUtil.EMPTY_MAP;
   private ReadableMap renderedConfig = ConversionUtil.EMPTY_MAP;
+  @Nullable private TabConfigChangeListener configChangeListener;
 
   public TabBarView(Context context, AttributeSet attrs) {
     super(context, attrs);
@@ -27,8 +31,56 @@ public class TabBarView extends ViewGroup {
   }
 
   public void setConfig(ReadableMap config) {
+    boolean hasChanged = !ConfigDiff.mapEqual(renderedConfig, config);
     this.prevConfig = this.renderedConfig;
     this.renderedConfig = config;
+    if (hasChanged && configChangeListener != null) {
+      configChangeListener.onTabBarConfigChanged(this);
+    }
+  }
+
+  @Override
+  protected void onAttachedToWindow() {
+    super.onAttachedToWindow();
+    configChangeListener = findConfigChangeListener();
+    if (configChangeListener != null) {
+      configChangeListener.onTabBarAttached(this);
+    }
+  }
+
+  @Override
+  protected void onDetachedFromWindow() {
+    super.onDetachedFromWindow();
+    if (configChangeListener != null) {
+      configChangeListener.onTabBarDetached(this);
+      configChangeListener = null;
+    }
+  }
+
+  /** Called by {@link TabBarViewManager} after tabs were added to or removed from this bar. */
+  void onTabsChanged() {
+    if (configChangeListener != null) {
+      configChangeListener.onTabsChanged(this);
+    }
+  }
+
+  void onTabConfigChanged(TabView tab) {
+    if (configChangeListener != null) {
+      configChangeListener.onTabConfigChanged(tab);
+    }
+  }
+
+  @Nullable
+  private TabConfigChangeListener findConfigChangeListener() {
+    ViewParent parent = getParent();
+    while (parent instanceof View) {
+      Object tag = ((View) parent).getTag(R.id.react_tab_config_change_listener);
+      if (tag instanceof TabConfigChangeListener) {
+        return (TabConfigChangeListener) tag;
+      }
+      parent = parent.getParent();
+    }
+    return null;
   }
 
   public ReadableMap getConfig() {
@@ -1,6 +1,7 @@
 package com.airbnb.android.react.navigation;
 
 import android.util.Log;
+import android.view.View;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.uimanager.ThemedReactContext;
 import com.facebook.react.uimanager.ViewGroupManager;
@@ -24,4 +25,22 @@ public class TabBarViewManager extends ViewGroupManager<TabBarView> {
     Log.d(TAG, "setConfig");
     view.setConfig(config);
   }
+
+  @Override
+  public void addView(TabBarView parent, View child, int index) {
+    super.addView(parent, child, index);
+    parent.onTabsChanged();
+  }
+
+  @Override
+  public void removeViewAt(TabBarView parent, int index) {
+    super.removeViewAt(parent, index);
+    parent.onTabsChanged();
+  }
+
+  @Override
+  public void removeAllViews(TabBarView parent) {
+    super.removeAllViews(parent);
+    parent.onTabsChanged();
+  }
 }
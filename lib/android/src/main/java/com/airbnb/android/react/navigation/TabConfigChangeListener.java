@@ -0,0 +1,23 @@
+package com.airbnb.android.react.navigation;
+
+/**
+ * Notified when JS changes the tabs under a {@link TabBarView}, or the config of a {@link TabView}
+ * or {@link TabBarView}, so that only the affected parts of the bottom navigation have to be
+ * updated.
+ *
+ * A tab bar finds its listener when it is attached, as the tag
+ * {@code R.id.react_tab_config_change_listener} of one of its ancestors. Nothing else in the
+ * hierarchy is observed.
+ */
+interface TabConfigChangeListener {
+  void onTabBarAttached(TabBarView tabBar);
+
+  void onTabBarDetached(TabBarView tabBar);
+
+  /** Tabs were added to, removed from or moved within {@code tabBar}. */
+  void onTabsChanged(TabBarView tabBar);
+
+  void onTabConfigChanged(TabView tab);
+
+  void onTabBarConfigChanged(TabBarView tabBar);
+}
@@ -3,70 +3,180 @@ package com.airbnb.android.react.navigation;
 import android.os.Bundle;
 import android.support.annotation.Nullable;
 import android.support.v4.app.Fragment;
-import android.support.v4.util.LongSparseArray;
+import android.support.v4.app.FragmentManager;
+import android.support.v4.app.FragmentTransaction;
 import android.support.v7.app.AppCompatActivity;
 import android.util.Log;
+import android.util.SparseArray;
 
+import java.util.ArrayList;
+
+/**
+ * Owner of the tabs of an activity. Each tab has a back stack of its own (hosted by a
+ * {@link TabStackFragment}), which is kept alive and hidden while another tab is showing, so that
+ * switching back to it doesn't have to mount its screens again or lose its place.
+ *
+ * At most {@link #setMaxLiveTabs(int)} tabs are kept alive. Beyond that, the least recently shown
+ * tab is evicted to its saved state, from which it is restored when it is shown again.
+ */
 public class TabCoordinator {
   private static final String TAG = TabCoordinator.class.getSimpleName();
+  private static final int DEFAULT_MAX_LIVE_TABS = 3;
+  private static final String STATE_CURRENT_TAB_ID = "tabCoordinator.currentTabId";
+  private static final String STATE_LIVE_TAB_IDS = "tabCoordinator.liveTabIds";
+  private static final String STATE_EVICTED_TABS = "tabCoordinator.evictedTabs";
 
-  private final LongSparseArray<ScreenCoordinator> screenCoordinators = new LongSparseArray<>();
-  private final AppCompatActivity activity;
+  private final FragmentManager fragmentManager;
   private final ScreenCoordinatorLayout container;
+  // Least recently shown first
+  private final ArrayList<Integer> liveTabIds = new ArrayList<>();
+  private final SparseArray<Fragment.SavedState> evictedTabs = new SparseArray<>();
+  private int maxLiveTabs = DEFAULT_MAX_LIVE_TABS;
 
   private Integer currentTabId = null;
 
   public TabCoordinator(AppCompatActivity activity, ScreenCoordinatorLayout container,
           @Nullable Bundle savedInstanceState) {
-    this.activity = activity;
+    this.fragmentManager = activity.getSupportFragmentManager();
     this.container = container;
+    container.setFragmentManager(fragmentManager);
+    if (savedInstanceState != null) {
+      restoreState(savedInstanceState);
+    }
+  }
+
+  /** Sets how many tabs are kept alive at most, including the one that is showing. */
+  public void setMaxLiveTabs(int maxLiveTabs) {
+    this.maxLiveTabs = Math.max(1, maxLiveTabs);
+    evictTabsOverLimit();
   }
 
+  /**
+   * Shows the tab with the given id. {@code startingFragment} is only presented if the tab doesn't
+   * have a back stack yet.
+   */
   public void showTab(Fragment startingFragment, int id) {
-    if (currentTabId != null) {
-      if (id == currentTabId) {
-        // TODO: add support for other behavior here such as reset the tab stack.
-        return;
+    if (currentTabId != null && id == currentTabId) {
+      // TODO: add support for other behavior here such as reset the tab stack.
+      return;
+    }
+    FragmentTransaction ft = fragmentManager.beginTransaction()
+        .setAllowOptimization(true);
+    TabStackFragment current = currentTabId == null ? null : findTab(currentTabId);
+    if (current != null) {
+      ft.hide(current);
+    }
+    TabStackFragment tab = findTab(id);
+    if (tab == null) {
+      tab = TabStackFragment.newInstance(id);
+      Fragment.SavedState state = evictedTabs.get(id);
+      if (state != null) {
+        evictedTabs.remove(id);
+        tab.setInitialSavedState(state);
       }
-      ScreenCoordinator coordinator = screenCoordinators.get(currentTabId);
-      coordinator.dismissAll();
+      ft.add(container.getId(), tab, getTabTag(id));
+    } else {
+      ft.show(tab);
     }
+    ft.commitNow();
     currentTabId = id;
-    ScreenCoordinator coordinator = screenCoordinators.get(id);
-    if (coordinator == null) {
-      coordinator = new ScreenCoordinator(activity, container, null);
-      screenCoordinators.put(id, coordinator);
+    liveTabIds.remove(Integer.valueOf(id));
+    liveTabIds.add(id);
+    evictTabsOverLimit();
+
+    ScreenCoordinator coordinator = tab.getScreenCoordinator();
+    if (coordinator.getTopFragment() == null) {
+      coordinator.presentScreen(startingFragment, ScreenCoordinator.PresentAnimation.Fade, null);
     }
-    coordinator.presentScreen(startingFragment, ScreenCoordinator.PresentAnimation.Fade, null);
     Log.d(TAG, toString());
   }
 
+  /** Whether the tab with the given id has a back stack, either live or evicted. */
+  boolean hasTab(int id) {
+    return findTab(id) != null || evictedTabs.get(id) != null;
+  }
+
   @Nullable
   public ScreenCoordinator getCurrentScreenCoordinator() {
-    if (currentTabId == null)
-      return null;
-    return screenCoordinators.get(currentTabId);
+    TabStackFragment tab = currentTabId == null ? null : findTab(currentTabId);
+    return tab == null ? null : tab.getScreenCoordinator();
   }
 
   public boolean onBackPressed() {
-    if (currentTabId == null) {
+    ScreenCoordinator coordinator = getCurrentScreenCoordinator();
+    if (coordinator == null) {
       return false;
     }
-    screenCoordinators.get(currentTabId).pop();
+    coordinator.pop();
     return true;
   }
 
+  /**
+   * Saves which tab is showing and the state of the evicted tabs. The live ones are saved along
+   * with the activity's fragments.
+   */
+  public void onSaveInstanceState(Bundle outState) {
+    if (currentTabId != null) {
+      outState.putInt(STATE_CURRENT_TAB_ID, currentTabId);
+    }
+    outState.putIntegerArrayList(STATE_LIVE_TAB_IDS, liveTabIds);
+    outState.putSparseParcelableArray(STATE_EVICTED_TABS, evictedTabs);
+  }
+
+  private void restoreState(Bundle savedInstanceState) {
+    if (savedInstanceState.containsKey(STATE_CURRENT_TAB_ID)) {
+      currentTabId = savedInstanceState.getInt(STATE_CURRENT_TAB_ID);
+    }
+    ArrayList<Integer> ids = savedInstanceState.getIntegerArrayList(STATE_LIVE_TAB_IDS);
+    if (ids != null) {
+      liveTabIds.addAll(ids);
+    }
+    SparseArray<Fragment.SavedState> states =
+        savedInstanceState.getSparseParcelableArray(STATE_EVICTED_TABS);
+    if (states != null) {
+      for (int i = 0; i < states.size(); i++) {
+        evictedTabs.put(states.keyAt(i), states.valueAt(i));
+      }
+    }
+  }
+
+  private void evictTabsOverLimit() {
+    while (liveTabIds.size() > maxLiveTabs) {
+      int id = liveTabIds.remove(0);
+      TabStackFragment tab = findTab(id);
+      if (tab == null) {
+        continue;
+      }
+      Log.d(TAG, "Evicting tab " + id);
+      evictedTabs.put(id, fragmentManager.saveFragmentInstanceState(tab));
+      fragmentManager.beginTransaction()
+          .remove(tab)
+          .commitNow();
+    }
+  }
+
+  @Nullable
+  private TabStackFragment findTab(int id) {
+    return (TabStackFragment) fragmentManager.findFragmentByTag(getTabTag(id));
+  }
+
+  private static String getTabTag(int id) {
+    return "TAB" + id;
+  }
+
   @Override
   public String toString() {
     StringBuilder sb = new StringBuilder();
     sb.append("TabCoordinator={");
-    int size = screenCoordinators.size();
-    for (int i = 0; i < size; i++) {
-      long id = screenCoordinators.keyAt(i);
-      ScreenCoordinator coordinator = screenCoordinators.valueAt(i);
-      sb.append('\n').append(id).append(": ").append(coordinator);
+    for (int id : liveTabIds) {
+      TabStackFragment tab = findTab(id);
+      sb.append('\n').append(id).append(": ")
+          .append(tab == null ? null : tab.getScreenCoordinator());
+    }
+    for (int i = 0; i < evictedTabs.size(); i++) {
+      sb.append('\n').append(evictedTabs.keyAt(i)).append(": evicted");
     }
     sb.append("\n}");
     return sb.toString();
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,17 @@
+package com.airbnb.android.react.navigation;
+
+/**
+ * When the root screens of the tabs of a {@link ReactNativeTabActivity} that aren't selected start
+ * rendering. See {@link ReactNativeTabActivity#getTabLoadingPolicy()}.
+ */
+public enum TabLoadingPolicy {
+  /** As soon as the tabs are known, along with the selected one. */
+  EAGER,
+  /** Only once the tab is selected. This is the default. */
+  LAZY,
+  /**
+   * Once the selected tab has rendered its first frame, one tab per main thread idle pass, so that
+   * selecting them is instant without slowing down the first tab.
+   */
+  IDLE_PREWARM
+}
@@ -0,0 +1,73 @@
+package com.airbnb.android.react.navigation;
+
+import android.os.Bundle;
+import android.support.annotation.Nullable;
+import android.support.v4.app.Fragment;
+import android.support.v7.app.AppCompatActivity;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.airbnb.android.R;
+
+/**
+ * Hosts the back stack of a single tab of a {@link TabCoordinator}. The tab's screens are added to
+ * this fragment's child fragment manager, so that each tab has a back stack of its own that can be
+ * kept around (hidden) while another tab is showing.
+ */
+public class TabStackFragment extends Fragment {
+  private static final String ARG_TAB_ID = "tabId";
+
+  private ScreenCoordinatorLayout container;
+  private ScreenCoordinator screenCoordinator;
+
+  static TabStackFragment newInstance(int tabId) {
+    TabStackFragment fragment = new TabStackFragment();
+    fragment.setArguments(new BundleBuilder()
+        .putInt(ARG_TAB_ID, tabId)
+        .toBundle());
+    return fragment;
+  }
+
+  int getTabId() {
+    return getArguments().getInt(ARG_TAB_ID);
+  }
+
+  ScreenCoordinator getScreenCoordinator() {
+    return screenCoordinator;
+  }
+
+  @Override
+  public void onCreate(@Nullable Bundle savedInstanceState) {
+    // This restores the child fragments, which the coordinator needs to restore its back stacks.
+    super.onCreate(savedInstanceState);
+    // The container outlives our view, since the coordinator holds on to it.
+    container = new ScreenCoordinatorLayout(getContext());
+    container.setId(R.id.react_tab_container_id);
+    screenCoordinator = new ScreenCoordinator((AppCompatActivity) getActivity(),
+        getChildFragmentManager(), container, savedInstanceState);
+  }
+
+  @Override
+  public View onCreateView(
+      LayoutInflater inflater, @Nullable ViewGroup parent, @Nullable Bundle savedInstanceState) {
+    return container;
+  }
+
+  @Override
+  public void onSaveInstanceState(Bundle outState) {
+    super.onSaveInstanceState(outState);
+    screenCoordinator.onSaveInstanceState(outState);
+  }
+
+  @Override
+  public void onHiddenChanged(boolean hidden) {
+    super.onHiddenChanged(hidden);
+    // Our screens keep their views (and stay resumed) while the tab is hidden, so they don't find
+    // out about it on their own.
+    Fragment top = screenCoordinator.getTopFragment();
+    if (top instanceof ReactNativeFragment) {
+      ((ReactNativeFragment) top).onHostHiddenChanged(hidden);
+    }
+  }
+}
@@ -35,8 +35,12 @@ public class TabView extends View {
   }
 
   public void setConfig(ReadableMap config) {
+    boolean hasChanged = renderedConfig == null || !ConfigDiff.mapEqual(renderedConfig, config);
     this.prevConfig = this.renderedConfig;
     this.renderedConfig = config;
+    if (hasChanged && getParent() instanceof TabBarView) {
+      ((TabBarView) getParent()).onTabConfigChanged(this);
+    }
   }
 
   public ReadableMap getPrevConfig() {
@@ -47,6 +51,15 @@ public class TabView extends View {
     return renderedConfig;
   }
 
+  Bundle getProps() {
+    return props;
+  }
+
+  /** Whether the fragment for this tab has been created (and so can't be preloaded anymore). */
+  boolean hasFragment() {
+    return fragment != null;
+  }
+
   public Fragment getFragment() {
     if (fragment == null) {
       fragment = instantiateFragment();
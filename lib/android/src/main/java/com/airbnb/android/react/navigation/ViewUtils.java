@@ -17,6 +17,7 @@ import android.util.TypedValue;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.ViewStub;
 import android.view.inputmethod.InputMethodManager;
 import android.widget.EditText;
 import android.widget.TextView;
@@ -327,8 +328,7 @@ public final class ViewUtils {
 
   public static void findTransitionViews(View view, List<Pair<View, String>> transitionViews) {
     String transitionName = ViewCompat.getTransitionName(view);
-    if (!TextUtils.isEmpty(transitionName) && view.getVisibility() == View.VISIBLE && isOnScreen(
-        view)) {
+    if (isVisibleTransitionView(view, transitionName)) {
       transitionViews.add(Pair.create(view, transitionName));
     }
 
@@ -340,6 +340,28 @@ public final class ViewUtils {
     }
   }
 
+  /** Whether {@code view} has a transition name and can take part in a transition right now. */
+  static boolean isVisibleTransitionView(View view, @Nullable String transitionName) {
+    return !TextUtils.isEmpty(transitionName) && view.getVisibility() == View.VISIBLE
+        && isOnScreen(view);
+  }
+
+  /**
+   * Replaces {@code stub} with an already created {@code view}, the same way
+   * {@link ViewStub#inflate()} would have placed the inflated layout.
+   */
+  static void replaceViewStub(ViewStub stub, View view) {
+    ViewGroup parent = (ViewGroup) stub.getParent();
+    int index = parent.indexOfChild(stub);
+    parent.removeViewInLayout(stub);
+    ViewGroup.LayoutParams layoutParams = stub.getLayoutParams();
+    if (layoutParams != null) {
+      parent.addView(view, index, layoutParams);
+    } else {
+      parent.addView(view, index);
+    }
+  }
+
   /**
    * Breadth-first search of a view hierarchy that returns the first element with a matching tag.
    *
@@ -2,6 +2,8 @@ import React from 'react';
 import PropTypes from 'prop-types';
 import {
   AppRegistry,
+  DeviceEventEmitter,
+  Platform,
 } from 'react-native';
 import AirbnbNavigator from './NavigatorModule';
 import navigatorEmitter from './navigatorEmitter';
@@ -9,6 +11,37 @@ import { processConfig } from './utils';
 
 const RESULT_CANCELED = 0;
 const RESULT_OK = -1;
+const PROPS_HANDLE = 'nativeNavigationPropsHandle';
+// Set on screens that native mounts ahead of time, before they are shown.
+const PREMOUNTED = 'nativeNavigationPremounted';
+
+// On Android, the props of screens pushed or presented from JS are kept here until native tells us
+// the screen is gone, so that it can start the screen with just a handle to them instead of
+// converting them into a Bundle and back.
+const propsByHandle = {};
+const preloadedScreens = {};
+let nextPropsHandle = 1;
+
+if (Platform.OS === 'android') {
+  DeviceEventEmitter.addListener('NativeNavigationScreen.onPropsReleased', (handle) => {
+    delete propsByHandle[handle];
+  });
+}
+
+function holdProps(screenName, props) {
+  if (preloadedScreens[screenName]) {
+    // The preloaded screen is matched to its props natively, and is only used by this one push.
+    delete preloadedScreens[screenName];
+    return props;
+  }
+  if (Platform.OS !== 'android' || !props || Object.keys(props).length === 0) {
+    return props;
+  }
+  const handle = `${nextPropsHandle}`;
+  nextPropsHandle += 1;
+  propsByHandle[handle] = props;
+  return { ...props, [PROPS_HANDLE]: handle };
+}
 
 function wrapResult(promise) {
   // React Native doesn't allow you to pass complex data through
@@ -51,7 +84,11 @@ function wrapScreen(sceneName, sceneThunk) {
       };
     }
     componentDidMount() {
-      navigatorEmitter.emit(`sceneDidMount.${this.props.nativeNavigationInstanceId}`);
+      if (!this.props[PREMOUNTED]) {
+        // A pre-mounted screen hasn't appeared yet. Native emits `onAppear` once it does, by which
+        // time we are subscribed to it.
+        navigatorEmitter.emit(`sceneDidMount.${this.props.nativeNavigationInstanceId}`);
+      }
       setTimeout(
         () => AirbnbNavigator.signalFirstRenderComplete(this.props.nativeNavigationInstanceId),
         0
@@ -59,7 +96,11 @@ function wrapScreen(sceneName, sceneThunk) {
     }
     render() {
       const ScreenComponent = unwrap(sceneThunk);
-      return <ScreenComponent {...this.props} />;
+      const heldProps = propsByHandle[this.props[PROPS_HANDLE]];
+      const props = { ...this.props };
+      delete props[PREMOUNTED];
+      delete props[PROPS_HANDLE];
+      return <ScreenComponent {...heldProps} {...props} />;
     }
   }
 
@@ -114,16 +155,24 @@ const NavigatorModule = {
       // throw if it's not present...
     }
     if (AppRegistry.getAppKeys().indexOf(screenName) !== -1) {
-      return wrapResult(AirbnbNavigator.push(screenName, props, options));
+      return wrapResult(AirbnbNavigator.push(screenName, holdProps(screenName, props), options));
     }
     return wrapResult(AirbnbNavigator.pushNative(screenName, props, options));
   },
   present(screenName, props = null, options = {}) {
     if (AppRegistry.getAppKeys().indexOf(screenName) !== -1) {
-      return wrapResult(AirbnbNavigator.present(screenName, props, options));
+      return wrapResult(
+        AirbnbNavigator.present(screenName, holdProps(screenName, props), options)
+      );
     }
     return wrapResult(AirbnbNavigator.presentNative(screenName, props, options));
   },
+  preload(screenName, props = null) {
+    if (AppRegistry.getAppKeys().indexOf(screenName) !== -1) {
+      preloadedScreens[screenName] = true;
+      AirbnbNavigator.preload(screenName, props);
+    }
+  },
   pop(payload = null, animated = true) {
     AirbnbNavigator.pop(payload, animated);
   },
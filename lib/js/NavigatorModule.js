@@ -11,6 +11,7 @@ const NavigatorModule = SafeModule.module({
     present: unresolvedPromise,
     presentNative: unresolvedPromise,
     replace: unresolvedPromise,
+    preload: noop,
     pop: noop,
     dismiss: noop,
     signalFirstRenderComplete: noop,